@@ -2,6 +2,8 @@ wasCompile=false
 wasRun=false
 wasTestCompile=false
 wasTestRun=false
+wasBenchmarkRun=false
+wasSimulationRun=false
 
 compile() {
     echo "Compiling..."
@@ -31,6 +33,16 @@ runTests() {
     java -cp classes:bin:lib/* org.junit.platform.console.ConsoleLauncher --scan-classpath && wasTestRun=true
 }
 
+runBenchmarks() {
+    echo "Running benchmarks..."
+    java -cp bin:lib/* com.gytmy.benchmark.MazeBenchmarks "$@" && wasBenchmarkRun=true
+}
+
+runSimulations() {
+    echo "Running simulations..."
+    java -cp bin:lib/* com.gytmy.benchmark.GameSimulations "$@" && wasSimulationRun=true
+}
+
 case "$1" in
     "compile" |"--compile")
         compile
@@ -45,6 +57,18 @@ case "$1" in
         runTests
         $wasTestRun && exit 0 || exit 1
     ;;
+    "benchmark" | "benchmarks" | "--benchmark" | "--benchmarks")
+        shift
+        compileTests
+        runBenchmarks "$@"
+        $wasBenchmarkRun && exit 0 || exit 1
+    ;;
+    "simulate" | "simulation" | "simulations" | "--simulate" | "--simulations")
+        shift
+        compileTests
+        runSimulations "$@"
+        $wasSimulationRun && exit 0 || exit 1
+    ;;
     "run" | "--run")
         compile
         run
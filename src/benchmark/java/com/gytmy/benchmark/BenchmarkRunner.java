@@ -0,0 +1,184 @@
+package com.gytmy.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Minimal benchmark harness. Each benchmark is warmed up for
+ * {@code WARMUP_NANOS} then measured for at least {@code MEASURE_NANOS} and
+ * {@code MINIMUM_OPERATIONS} operations. It reports the average time of an
+ * operation and the number of bytes allocated per cell of the maze, by all
+ * the threads so that the work done on a pool (e.g. by the
+ * {@code TiledDepthFirstGenerator}) is counted too. The allocation of a thread
+ * ending during the measure is lost, which does not happen with the threads of
+ * the common pool as long as they are kept busy.
+ * 
+ * It also reports the memory footprint of one more operation, per cell: the
+ * peak of the heap during the operation, i.e. the sum of the peak usages of
+ * the heap pools reset just before it, and the heap still used by its result
+ * after a garbage collection. Both are relative to the heap used before the
+ * operation, after a garbage collection, and are only estimates since the
+ * collections are requested with {@code System.gc()}: below a few megabytes
+ * they are hidden by the allocation buffers of the threads.
+ * 
+ * The results of the operations are folded into a sink so that the JIT
+ * cannot remove them.
+ */
+public class BenchmarkRunner {
+
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+    private static final long MEASURE_NANOS = 2_000_000_000L;
+    private static final int MINIMUM_OPERATIONS = 3;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String FORMAT = "%-46s %10s %12s %10s %14s %14s %14s%n";
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+    private int sink;
+
+    public BenchmarkRunner() {
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    public void printHeader() {
+        System.out.printf(FORMAT, "Benchmark", "Size", "ms/op", "ops", "bytes/cell", "peak/cell",
+                "retained/cell");
+    }
+
+    /**
+     * Runs a benchmark whose operations are created for each size, so that the
+     * setup (e.g. the generation of the board to search) is not measured.
+     * 
+     * @param name      the name of the benchmark
+     * @param size      the width and height of the maze
+     * @param operation the measured operation
+     */
+    public void run(String name, int size, Supplier<?> operation) {
+        repeat(operation, WARMUP_NANOS, 1);
+
+        Map<Long, Long> allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        int operations = repeat(operation, MEASURE_NANOS, MINIMUM_OPERATIONS);
+        long elapsed = System.nanoTime() - start;
+        long allocated = getAllocatedBytesSince(allocatedBefore);
+
+        long[] footprint = measureFootprint(operation);
+
+        double cells = (double) size * size;
+        System.out.printf(FORMAT, name, size + "x" + size,
+                String.format("%.3f", elapsed / NANOS_PER_MILLI / operations),
+                operations,
+                String.format("%.2f", allocated / cells / operations),
+                String.format("%.2f", footprint[0] / cells),
+                String.format("%.2f", footprint[1] / cells));
+    }
+
+    /**
+     * @return the peak and the retained heap of one operation, in bytes
+     */
+    private long[] measureFootprint(Supplier<?> operation) {
+        collectGarbage();
+        long baseline = getUsedHeap();
+        for (MemoryPoolMXBean pool : heapPools) {
+            pool.resetPeakUsage();
+        }
+
+        Object result = operation.get();
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        collectGarbage();
+        long retained = getUsedHeap() - baseline;
+        // The result must stay reachable until the retained heap is measured
+        Reference.reachabilityFence(result);
+        sink += result == null ? 0 : System.identityHashCode(result);
+
+        return new long[] { Math.max(0, peak - baseline), Math.max(0, retained) };
+    }
+
+    private static void collectGarbage() {
+        // A single collection does not always free the result of the previous
+        // operation
+        System.gc();
+        System.gc();
+    }
+
+    private long getUsedHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            used += pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    /**
+     * Runs the same benchmark for each of the given sizes.
+     */
+    public void run(String name, int[] sizes, IntFunction<Supplier<?>> operationFactory) {
+        for (int size : sizes) {
+            run(name, size, operationFactory.apply(size));
+        }
+    }
+
+    private int repeat(Supplier<?> operation, long durationNanos, int minimumOperations) {
+        long end = System.nanoTime() + durationNanos;
+        int operations = 0;
+        while (operations < minimumOperations || System.nanoTime() < end) {
+            Object result = operation.get();
+            sink += result == null ? 0 : System.identityHashCode(result);
+            operations++;
+        }
+        return operations;
+    }
+
+    /**
+     * @return the number of bytes allocated by each live thread, by id
+     */
+    private Map<Long, Long> getAllocatedBytes() {
+        long[] ids = threadBean.getAllThreadIds();
+        long[] allocated = threadBean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocatedBytes = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            // -1 for a thread which ended in the meantime
+            if (allocated[i] >= 0) {
+                allocatedBytes.put(ids[i], allocated[i]);
+            }
+        }
+        return allocatedBytes;
+    }
+
+    /**
+     * @param before the bytes allocated by each thread at the beginning
+     * @return the number of bytes allocated since then by all the threads,
+     *         including the ones started in the meantime
+     */
+    private long getAllocatedBytesSince(Map<Long, Long> before) {
+        long allocated = 0;
+        for (Map.Entry<Long, Long> thread : getAllocatedBytes().entrySet()) {
+            allocated += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+        }
+        return allocated;
+    }
+
+    /**
+     * @return the folded results, printed so that they are used
+     */
+    public int getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,48 @@
+package com.gytmy.benchmark;
+
+import java.util.function.Supplier;
+
+import com.gytmy.maze.model.simulation.PlayerStrategy;
+import com.gytmy.maze.model.simulation.SimulationEngine;
+
+/**
+ * Plays games with simulated players and prints their statistics. Launched
+ * with {@code ./run.sh simulate}, optionally followed by the number of games,
+ * the size of the mazes, the number of players per game and the strategy of
+ * the players ({@code random}, {@code shortest} or the error rate of a noisy
+ * shortest path, e.g. {@code 0.2}).
+ */
+public class GameSimulations {
+
+    private static final int DEFAULT_NB_GAMES = 10_000;
+    private static final int DEFAULT_NB_PLAYERS = 4;
+
+    private GameSimulations() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int nbGames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NB_GAMES;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : SimulationEngine.DEFAULT_MAZE_SIZE;
+        int nbPlayers = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_NB_PLAYERS;
+        Supplier<PlayerStrategy> strategy = parseStrategy(args.length > 3 ? args[3] : "random");
+
+        SimulationEngine engine = new SimulationEngine()
+                .setMaze(SimulationEngine.DEFAULT_GENERATOR_TYPE, size, size)
+                .setNbPlayers(nbPlayers)
+                .setStrategy(strategy)
+                .setNbGames(nbGames);
+        System.out.print(engine.run());
+    }
+
+    private static Supplier<PlayerStrategy> parseStrategy(String name) {
+        switch (name) {
+            case "random":
+                return PlayerStrategy::randomWalk;
+            case "shortest":
+                return PlayerStrategy::shortestPath;
+            default:
+                double errorRate = Double.parseDouble(name);
+                return () -> PlayerStrategy.noisyShortestPath(errorRate);
+        }
+    }
+}
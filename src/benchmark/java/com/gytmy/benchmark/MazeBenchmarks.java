@@ -0,0 +1,180 @@
+package com.gytmy.benchmark;
+
+import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.MazeModelImplementation;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.generators.BoardGenerator;
+import com.gytmy.maze.model.generators.BorderBoardGenerator;
+import com.gytmy.maze.model.generators.DepthFirstGenerator;
+import com.gytmy.maze.model.generators.EllerGenerator;
+import com.gytmy.maze.model.generators.EmptyBoardGenerator;
+import com.gytmy.maze.model.generators.KruskalGenerator;
+import com.gytmy.maze.model.generators.TiledDepthFirstGenerator;
+import com.gytmy.maze.model.generators.WilsonGenerator;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.player.PlayerImplementation;
+import com.gytmy.utils.CellFinder;
+import com.gytmy.utils.Coordinates;
+import com.gytmy.utils.JunctionGraph;
+import com.gytmy.utils.PathFinder;
+
+/**
+ * Benchmarks of the generation of the mazes, of the searches in the board and
+ * of the construction of the model. Launched with {@code ./run.sh benchmark},
+ * optionally followed by the sizes to measure.
+ */
+public class MazeBenchmarks {
+
+    private static final int[] DEFAULT_SIZES = { 11, 41, 101, 501, 1001, 4096 };
+
+    private final BenchmarkRunner runner = new BenchmarkRunner();
+    private final int[] sizes;
+
+    private MazeBenchmarks(int[] sizes) {
+        this.sizes = sizes;
+    }
+
+    public static void main(String[] args) {
+        MazeBenchmarks benchmarks = new MazeBenchmarks(parseSizes(args));
+        benchmarks.runAll();
+    }
+
+    private static int[] parseSizes(String[] args) {
+        if (args.length == 0) {
+            return DEFAULT_SIZES;
+        }
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+
+    private void runAll() {
+        runner.printHeader();
+        runGenerators();
+        runCellFinder();
+        runModelConstruction();
+        System.out.println("sink: " + runner.getSink());
+    }
+
+    private void runGenerators() {
+        runner.run("DepthFirstGenerator.generateBoard", sizes,
+                size -> new DepthFirstGenerator(size, size)::generateBoard);
+        runner.run("DepthFirstGenerator.generate", sizes,
+                size -> new DepthFirstGenerator(size, size)::generate);
+        runner.run("TiledDepthFirstGenerator.generateBoard", sizes,
+                size -> new TiledDepthFirstGenerator(size, size)::generateBoard);
+        runner.run("EllerGenerator.generateBoard", sizes,
+                size -> new EllerGenerator(size, size)::generateBoard);
+        runner.run("KruskalGenerator.generateBoard", sizes,
+                size -> new KruskalGenerator(size, size)::generateBoard);
+        runner.run("WilsonGenerator.generateBoard", sizes,
+                size -> new WilsonGenerator(size, size)::generateBoard);
+        runner.run("BorderBoardGenerator.generate", sizes,
+                size -> new BorderBoardGenerator(size, size)::generate);
+        runner.run("EmptyBoardGenerator.generate", sizes,
+                size -> new EmptyBoardGenerator(size, size)::generate);
+    }
+
+    private void runCellFinder() {
+        Coordinates start = new Coordinates(1, 1);
+        runner.run("CellFinder.getFurthestCell", sizes, size -> {
+            CellFinder finder = new CellFinder(generateMaze(size));
+            return () -> finder.getFurthestCell(start);
+        });
+        runner.run("CellFinder.getDistance", sizes, size -> {
+            Board board = generateMaze(size);
+            Coordinates end = new CellFinder(board).getFurthestCell(start);
+            // A new finder for each operation, otherwise the distance is read
+            // from the previous search
+            return () -> new CellFinder(board).getDistance(start, end);
+        });
+        runner.run("PathFinder.findPathBidirectional", sizes, size -> {
+            Board board = generateMaze(size);
+            Coordinates end = new CellFinder(board).getFurthestCell(start);
+            PathFinder finder = new PathFinder(board);
+            return () -> finder.findPathBidirectional(start, end);
+        });
+        runner.run("PathFinder.findPathAStar", sizes, size -> {
+            Board board = generateMaze(size);
+            Coordinates end = new CellFinder(board).getFurthestCell(start);
+            PathFinder finder = new PathFinder(board);
+            return () -> finder.findPathAStar(start, end);
+        });
+        runner.run("JunctionGraph.<init>", sizes, size -> {
+            Board board = generateMaze(size);
+            return () -> new JunctionGraph(board);
+        });
+        runner.run("JunctionGraph.getDistance", sizes, size -> {
+            Board board = generateMaze(size);
+            Coordinates end = new CellFinder(board).getFurthestCell(start);
+            JunctionGraph graph = new JunctionGraph(board);
+            return () -> graph.getDistance(start, end);
+        });
+    }
+
+    private void runModelConstruction() {
+        runner.run("MazeModelImplementation.<init>", sizes, size -> {
+            Board board = generateMaze(size);
+            BoardGenerator generator = new FixedBoardGenerator(board);
+            return () -> new MazeModelImplementation(generator, null, null, null, null);
+        });
+        runner.run("MazeModelImplementation.getMinimumPathLength", sizes, size -> {
+            Board board = generateMaze(size);
+            MazeModel model = new MazeModelImplementation(board, null, null, null, null);
+            Coordinates initialCell = model.getInitialCell();
+            Coordinates exitCell = model.getExitCell();
+            // A new model each time, whose distances to the exit are not known
+            return () -> new MazeModelImplementation(board, initialCell, exitCell, null, null)
+                    .getMinimumPathLength();
+        });
+        runner.run("MazeModelImplementation.getPathToExit", sizes, size -> {
+            MazeModel model = new MazeModelImplementation(generateMaze(size), null, null, null, null);
+            // The distances to the exit are computed before the measures
+            model.getMinimumPathLength();
+            return () -> model.getPathToExit(model.getInitialCell());
+        });
+        runner.run("MazeModelImplementation.movePlayer", sizes, size -> {
+            Player player = new PlayerImplementation();
+            MazeModel model = new MazeModelImplementation(generateMaze(size), null, null, new Player[] { player },
+                    null);
+            player.setCoordinates(model.getInitialCell());
+            Direction[] directions = Direction.values();
+            // One operation is a move attempt and the exit check of a bot
+            int[] nbMoves = { 0 };
+            return () -> {
+                Direction direction = directions[nbMoves[0]++ % directions.length];
+                return model.movePlayer(player, direction) && model.isPlayerAtExit(player);
+            };
+        });
+    }
+
+    private static Board generateMaze(int size) {
+        return new DepthFirstGenerator(size, size).generateBoard();
+    }
+
+    /**
+     * Always returns the same board, so that only the construction of the
+     * model is measured and not the generation of its board.
+     */
+    private static class FixedBoardGenerator implements BoardGenerator {
+
+        private final Board board;
+
+        FixedBoardGenerator(Board board) {
+            this.board = board;
+        }
+
+        @Override
+        public boolean[][] generate() {
+            return board.toArray();
+        }
+
+        @Override
+        public Board generateBoard() {
+            return board;
+        }
+    }
+}
@@ -3,13 +3,16 @@ package com.gytmy.maze.controller;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JFrame;
 
 import com.gytmy.maze.model.Direction;
 import com.gytmy.maze.model.GameData;
 import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.MazeModelBuilder.ProgressListener;
 import com.gytmy.maze.model.MazeModelFactory;
+import com.gytmy.maze.model.MazePregenerator;
 import com.gytmy.maze.model.player.Player;
 import com.gytmy.maze.model.score.ScoreCalculator;
 import com.gytmy.maze.model.score.ScoreType;
@@ -32,27 +35,63 @@ public class MazeControllerImplementation implements MazeController {
     private VoiceMovementController voiceMovementController;
 
     public MazeControllerImplementation(GameData gameData, JFrame frame) {
+        this(gameData, createMaze(gameData), frame);
+    }
+
+    /**
+     * Starts a game in a maze created beforehand, e.g. with
+     * {@link #createMazeAsync(GameData, ProgressListener)}.
+     * 
+     * @param gameData
+     * @param model    the maze of the game
+     * @param frame
+     */
+    public MazeControllerImplementation(GameData gameData, MazeModel model, JFrame frame) {
         this.gameData = gameData;
+        this.model = model;
         initGame(frame);
         initializeMovementControllers();
         updateStatus();
     }
 
+    private static MazeModel createMaze(GameData gameData) {
+        initScoreType(gameData);
+        return MazeModelFactory.createMaze(gameData);
+    }
+
+    /**
+     * Creates the maze of a game on a worker thread, so that the creation of
+     * the biggest mazes does not freeze the interface.
+     * 
+     * @param gameData
+     * @param progressListener told when each phase of the creation starts
+     * @return the future maze, which can be cancelled
+     */
+    public static CompletableFuture<MazeModel> createMazeAsync(GameData gameData,
+            ProgressListener progressListener) {
+        initScoreType(gameData);
+        return MazeModelFactory.createMazeBuilder(gameData)
+                .setProgressListener(progressListener)
+                .buildAsync();
+    }
+
     private void initGame(JFrame frame) {
-        initScoreType();
-        model = MazeModelFactory.createMaze(gameData);
+        // The next game is likely to be played with the same settings
+        MazePregenerator.getInstance().pregenerate(MazeModelFactory.createSpecification(gameData));
         playerOrder = new ArrayList<>(Arrays.asList(model.getPlayers()));
         initPlayersInitialCell();
         view = MazeViewFactory.createMazeView(gameData, model, frame, this);
     }
 
-    private void initScoreType() {
+    private static void initScoreType(GameData gameData) {
         gameData.setScoreType(ScoreType.SIMPLE_VOICE);
     }
 
     private void initPlayersInitialCell() {
         Coordinates initialCell = model.getInitialCell();
-        Player.initAllPlayersCoordinates(initialCell, model.getPlayers());
+        for (Player player : model.getPlayers()) {
+            model.setPlayerCoordinates(player, initialCell.getX(), initialCell.getY());
+        }
     }
 
     private void initializeMovementControllers() {
@@ -17,6 +17,22 @@ public enum Direction {
         return step;
     }
 
+    /**
+     * @return the change of the x coordinate of a player moving in this
+     *         direction
+     */
+    public int getDeltaX() {
+        return this == LEFT || this == RIGHT ? step : 0;
+    }
+
+    /**
+     * @return the change of the y coordinate of a player moving in this
+     *         direction
+     */
+    public int getDeltaY() {
+        return this == UP || this == DOWN ? step : 0;
+    }
+
     /**
      * @param directionName
      * @return the direction if the name of the parameter is recognized
@@ -0,0 +1,239 @@
+package com.gytmy.maze.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.board.BoardFile;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.score.ScoreType;
+import com.gytmy.utils.Coordinates;
+
+/**
+ * A maze stored in a file, so that a fixed maze can be distributed, e.g. for a
+ * tournament, and opened without being generated nor searched again.
+ * 
+ * A maze file is a {@link BoardFile} whose header is extended with
+ * {@code EXTENSION_SIZE} bytes, all big-endian: {@code MAGIC}, the flags, the
+ * initial and exit cells, the minimum path length, then the generator type
+ * (its ordinal), the size, the start cell and the seed of the specification,
+ * -1 and 0 when there is none. The rows of the board follow, as in any board
+ * file, then the trailer holds the distance to the exit of every cell, row by
+ * row, if they are stored. The board of a maze file can thus also be mapped
+ * by a {@code MappedBoard}.
+ */
+public class MazeFile {
+
+    public static final int MAGIC = 0x474D5A4D; // "GMZM"
+    public static final int EXTENSION_SIZE = 12 * Integer.BYTES + Long.BYTES;
+
+    private static final int HAS_SPECIFICATION = 1;
+    private static final int NO_VALUE = -1;
+
+    private final MazeLayout layout;
+    private final int[] distancesToExit;
+
+    /**
+     * @param layout          the maze, with the specification generating it if
+     *                        it is known
+     * @param distancesToExit the distance to the exit of each cell, indexed by
+     *                        {@code y * width + x}, or null; the array is not
+     *                        copied
+     */
+    public MazeFile(MazeLayout layout, int[] distancesToExit) {
+        if (layout == null) {
+            throw new IllegalArgumentException("The layout cannot be null");
+        }
+        Board board = layout.getBoard();
+        if (distancesToExit != null && distancesToExit.length != board.getWidth() * board.getHeight()) {
+            throw new IllegalArgumentException("There must be one distance per cell");
+        }
+        this.layout = layout;
+        this.distancesToExit = distancesToExit;
+    }
+
+    /**
+     * @param model
+     * @param withDistances true to store the distance to the exit of every
+     *                      cell, computing it if needed
+     * @return the file of the maze of the model
+     */
+    public static MazeFile of(MazeModel model, boolean withDistances) {
+        return new MazeFile(MazeLayout.of(model), withDistances ? model.getDistancesToExit() : null);
+    }
+
+    public MazeLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * @return the distance to the exit of each cell, indexed by
+     *         {@code y * width + x}, or null if they are not stored
+     */
+    public int[] getDistancesToExit() {
+        return distancesToExit;
+    }
+
+    /**
+     * @param players
+     * @param scoreType
+     * @return a new game in the maze, using the stored distances if any
+     */
+    public MazeModel createMaze(Player[] players, ScoreType scoreType) {
+        MazeModelImplementation model = new MazeModelImplementation(layout, players, scoreType);
+        if (distancesToExit != null) {
+            model.setDistancesToExit(distancesToExit);
+        }
+        return model;
+    }
+
+    /**
+     * Creates or overwrites the file at the given path.
+     * 
+     * @param path
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path path) throws IOException {
+        BitPackedBoard board = BitPackedBoard.copyOf(layout.getBoard());
+        long trailerSize = distancesToExit == null ? 0 : (long) distancesToExit.length * Integer.BYTES;
+        try (BoardFile.Writer writer = BoardFile.createWriter(path, board.getWidth(), board.getHeight(),
+                createExtension(), trailerSize)) {
+            byte[] row = new byte[BoardFile.getRowSize(board.getWidth())];
+            for (int y = 0; y < board.getHeight(); y++) {
+                board.getRow(y, row);
+                writer.writeRow(row);
+            }
+            if (distancesToExit != null) {
+                writer.writeTrailer(distancesToExit);
+            }
+        }
+    }
+
+    private ByteBuffer createExtension() {
+        ByteBuffer extension = ByteBuffer.allocate(EXTENSION_SIZE);
+        MazeSpecification specification = layout.getSpecification();
+        extension.putInt(MAGIC);
+        extension.putInt(specification == null ? 0 : HAS_SPECIFICATION);
+        putCoordinates(extension, layout.getInitialCell());
+        putCoordinates(extension, layout.getExitCell());
+        extension.putInt(layout.getMinimumPathLength());
+
+        if (specification == null) {
+            extension.putInt(NO_VALUE).putInt(NO_VALUE).putInt(NO_VALUE);
+            putCoordinates(extension, null);
+            extension.putLong(0);
+        } else {
+            extension.putInt(specification.getGeneratorType().ordinal());
+            extension.putInt(specification.getWidth()).putInt(specification.getHeight());
+            putCoordinates(extension, specification.getStart());
+            extension.putLong(specification.getSeed());
+        }
+        return extension.flip();
+    }
+
+    private static void putCoordinates(ByteBuffer extension, Coordinates coordinates) {
+        extension.putInt(coordinates == null ? NO_VALUE : coordinates.getX());
+        extension.putInt(coordinates == null ? NO_VALUE : coordinates.getY());
+    }
+
+    /**
+     * @param path
+     * @return the maze stored in the file
+     * @throws IOException if the file cannot be read or is not a valid maze
+     *                     file
+     */
+    public static MazeFile read(Path path) throws IOException {
+        try (BoardFile.Reader reader = BoardFile.openReader(path)) {
+            Header header = Header.read(reader);
+            BitPackedBoard board = reader.readBoard();
+            int[] distances = null;
+            if (reader.getTrailerSize() != 0) {
+                distances = new int[header.width * header.height];
+                reader.readTrailer(distances);
+            }
+            return new MazeFile(header.createLayout(board), distances);
+        }
+    }
+
+    /**
+     * The content of the extension of the header of a file, checked against
+     * the size of its board and of its trailer.
+     */
+    private static class Header {
+
+        private int flags;
+        private int width;
+        private int height;
+        private Coordinates initialCell;
+        private Coordinates exitCell;
+        private int minimumPathLength;
+        private MazeSpecification specification;
+
+        private static Header read(BoardFile.Reader reader) throws IOException {
+            ByteBuffer extension = reader.getExtension();
+            if (extension.remaining() != EXTENSION_SIZE || extension.getInt() != MAGIC) {
+                throw new IOException("Not a maze file");
+            }
+            Header header = new Header();
+            header.flags = extension.getInt();
+            header.readDimensions(reader);
+            header.initialCell = getCoordinates(extension);
+            header.exitCell = getCoordinates(extension);
+            header.minimumPathLength = extension.getInt();
+            header.readSpecification(extension);
+            return header;
+        }
+
+        private void readDimensions(BoardFile.Reader reader) throws IOException {
+            width = reader.getWidth();
+            height = reader.getHeight();
+            long nbCells = (long) width * height;
+            if (nbCells > Integer.MAX_VALUE) {
+                throw new IOException("Invalid maze dimensions: " + width + "x" + height);
+            }
+            long trailerSize = reader.getTrailerSize();
+            if (trailerSize != 0 && trailerSize != nbCells * Integer.BYTES) {
+                throw new IOException("The maze file is truncated or corrupted");
+            }
+        }
+
+        private void readSpecification(ByteBuffer extension) throws IOException {
+            int type = extension.getInt();
+            int specifiedWidth = extension.getInt();
+            int specifiedHeight = extension.getInt();
+            Coordinates start = getCoordinates(extension);
+            long seed = extension.getLong();
+            if ((flags & HAS_SPECIFICATION) == 0) {
+                return;
+            }
+            if (type < 0 || type >= GeneratorType.values().length) {
+                throw new IOException("Unknown generator type: " + type);
+            }
+            specification = new MazeSpecification(GeneratorType.values()[type], specifiedWidth, specifiedHeight,
+                    seed);
+            if (start != null) {
+                specification = specification.withStart(start);
+            }
+        }
+
+        private static Coordinates getCoordinates(ByteBuffer extension) {
+            int x = extension.getInt();
+            int y = extension.getInt();
+            return x == NO_VALUE && y == NO_VALUE ? null : new Coordinates(x, y);
+        }
+
+        private MazeLayout createLayout(Board board) throws IOException {
+            if (!isPathCell(board, initialCell) || !isPathCell(board, exitCell)) {
+                throw new IOException("The initial and exit cells must be paths of the board");
+            }
+            return new MazeLayout(board, initialCell, exitCell, minimumPathLength, specification);
+        }
+
+        private static boolean isPathCell(Board board, Coordinates cell) {
+            return cell != null && board.isInside(cell.getX(), cell.getY()) && board.isPath(cell.getX(), cell.getY());
+        }
+    }
+}
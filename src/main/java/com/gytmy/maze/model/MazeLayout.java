@@ -0,0 +1,86 @@
+package com.gytmy.maze.model;
+
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.utils.Coordinates;
+
+/**
+ * The immutable part of a maze: its board, its initial and exit cells, the
+ * length of the shortest path between them and, if known, the specification
+ * generating the board. Computing them is the expensive
+ * part of the creation of a maze, so a layout can be kept and shared by
+ * several models, e.g. when a maze is replayed.
+ */
+public class MazeLayout {
+
+    private final Board board;
+    private final Coordinates initialCell;
+    private final Coordinates exitCell;
+    private final int minimumPathLength;
+    private final MazeSpecification specification;
+
+    public MazeLayout(Board board, Coordinates initialCell, Coordinates exitCell, int minimumPathLength) {
+        this(board, initialCell, exitCell, minimumPathLength, null);
+    }
+
+    /**
+     * @param board
+     * @param initialCell
+     * @param exitCell
+     * @param minimumPathLength
+     * @param specification     the specification generating the board or null
+     *                          if it is unknown
+     */
+    public MazeLayout(Board board, Coordinates initialCell, Coordinates exitCell, int minimumPathLength,
+            MazeSpecification specification) {
+        if (board == null) {
+            throw new IllegalArgumentException("Board cannot be null");
+        }
+        if (initialCell == null || exitCell == null) {
+            throw new IllegalArgumentException("The initial and exit cells cannot be null");
+        }
+        this.board = board;
+        this.initialCell = initialCell.copy();
+        this.exitCell = exitCell.copy();
+        this.minimumPathLength = minimumPathLength;
+        this.specification = specification;
+    }
+
+    /**
+     * @param model the model to take the layout from
+     * @return the layout of the model, computing its minimum path length if
+     *         needed
+     */
+    public static MazeLayout of(MazeModel model) {
+        return new MazeLayout(model.getBoard(), model.getInitialCell(), model.getExitCell(),
+                model.getMinimumPathLength(), model.getSpecification());
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return a copy of the initial cell
+     */
+    public Coordinates getInitialCell() {
+        return initialCell.copy();
+    }
+
+    /**
+     * @return a copy of the exit cell
+     */
+    public Coordinates getExitCell() {
+        return exitCell.copy();
+    }
+
+    public int getMinimumPathLength() {
+        return minimumPathLength;
+    }
+
+    /**
+     * @return the specification generating the board or null if it is unknown
+     */
+    public MazeSpecification getSpecification() {
+        return specification;
+    }
+}
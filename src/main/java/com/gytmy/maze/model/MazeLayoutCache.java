@@ -0,0 +1,46 @@
+package com.gytmy.maze.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of the layouts of the mazes, keyed by their
+ * specification. Only the compact board and a few values are kept for each
+ * maze. It is thread-safe.
+ */
+class MazeLayoutCache {
+
+    private final Map<MazeSpecification, MazeLayout> layouts;
+
+    MazeLayoutCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative");
+        }
+        this.layouts = new LinkedHashMap<MazeSpecification, MazeLayout>(capacity + 1, 1, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MazeSpecification, MazeLayout> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param specification
+     * @return the cached layout or null if there is none
+     */
+    synchronized MazeLayout get(MazeSpecification specification) {
+        return layouts.get(specification);
+    }
+
+    synchronized void put(MazeSpecification specification, MazeLayout layout) {
+        layouts.put(specification, layout);
+    }
+
+    synchronized int size() {
+        return layouts.size();
+    }
+
+    synchronized void clear() {
+        layouts.clear();
+    }
+}
@@ -2,6 +2,7 @@ package com.gytmy.maze.model;
 
 import java.util.List;
 
+import com.gytmy.maze.model.board.Board;
 import com.gytmy.maze.model.player.Player;
 import com.gytmy.maze.model.score.ScoreCalculator;
 import com.gytmy.maze.model.score.ScoreType;
@@ -10,26 +11,60 @@ import com.gytmy.utils.Coordinates;
 public interface MazeModel {
 
     /**
-     * Gets the copy of the board representing the Maze,
+     * Gets the board representing the Maze. The board is read-only and shared,
+     * it is not copied.
      * 
      * @return the Board according to its Dimension
      */
-    boolean[][] getBoard();
+    Board getBoard();
 
     Coordinates getInitialCell();
 
     Coordinates getExitCell();
 
+    /**
+     * @return the specification generating the maze or null if it is unknown,
+     *         e.g. when the board was given
+     */
+    MazeSpecification getSpecification();
+
     Player[] getPlayers();
 
     int getNbPlayers();
 
     public List<Player> getPlayersAtCoordinates(Coordinates coordinates);
 
+    /**
+     * Gets the players of a cell, in the order of {@link #getPlayers()}. The
+     * players are indexed by cell on the first call, so that the following
+     * ones do not go through all the players. Afterwards, the players must be
+     * moved with {@link #movePlayer(Player, Direction)} or
+     * {@link #setPlayerCoordinates(Player, int, int)} to keep the index up to
+     * date.
+     * 
+     * @param x
+     * @param y
+     * @return a new list of the players at the given coordinates
+     */
+    public List<Player> getPlayersAtCoordinates(int x, int y);
+
+    /**
+     * Places the given player on a cell, without checking the cell.
+     * 
+     * @param player
+     * @param x
+     * @param y
+     */
+    void setPlayerCoordinates(Player player, int x, int y);
+
     boolean isInitialCell(Coordinates coordinates);
 
+    boolean isInitialCell(int x, int y);
+
     boolean isExitCell(Coordinates coordinates);
 
+    boolean isExitCell(int x, int y);
+
     boolean isWall(int x, int y);
 
     boolean isWall(Coordinates coordinates);
@@ -79,6 +114,64 @@ public interface MazeModel {
      */
     int getMinimumPathLength();
 
+    /**
+     * Gets the length of the shortest path from the given cell to the exit
+     * cell. Unless they were given beforehand, e.g. loaded from a file, the
+     * distances are searched from the exit cell over the whole board on the
+     * first call, which takes a time and a memory linear in the number of
+     * cells. The later calls run in constant time.
+     * 
+     * @param x
+     * @param y
+     * @return the distance to the exit cell;
+     *         -1 if the cell is a wall or cannot reach the exit cell
+     * @throws IllegalStateException if the distances must be searched and the
+     *                               board is larger than the largest maze
+     *                               that can be generated
+     */
+    int getDistanceToExit(int x, int y);
+
+    int getDistanceToExit(Coordinates coordinates);
+
+    /**
+     * Gets the distances of all the cells at once, e.g. to store them in a
+     * file. They are searched as by {@link #getDistanceToExit(int, int)} if
+     * they are not known yet.
+     * 
+     * @return a new array of the distance to the exit of each cell, indexed by
+     *         {@code y * width + x}
+     * @throws IllegalStateException if the distances must be searched and the
+     *                               board is larger than the largest maze
+     *                               that can be generated
+     */
+    int[] getDistancesToExit();
+
+    /**
+     * Gets a shortest path from the given cell to the exit cell, e.g. to show
+     * a hint to a player. Once the distances to the exit are known, the path
+     * is read from them without any search. Until then, it is followed on the
+     * graph of the intersections and dead ends of the board, whose memory
+     * depends on the number of intersections rather than on the number of
+     * cells.
+     * 
+     * @param from
+     * @return the cell indices ({@code y * width + x}) of the path, both cells
+     *         included; null if the cell is a wall or cannot reach the exit
+     *         cell
+     */
+    int[] getPathToExit(Coordinates from);
+
+    /**
+     * Gets a shortest path between two cells with a bidirectional search. The
+     * buffers of the search are reused from one call to another.
+     * 
+     * @param start
+     * @param end
+     * @return the cell indices ({@code y * width + x}) of the path, both cells
+     *         included; null if a cell is a wall or they are not connected
+     */
+    int[] findShortestPath(Coordinates start, Coordinates end);
+
     int getScore(Player player);
 
     /**
@@ -0,0 +1,205 @@
+package com.gytmy.maze.model;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.score.ScoreType;
+import com.gytmy.utils.CellFinder;
+import com.gytmy.utils.Coordinates;
+
+/**
+ * Creates the maze of a {@code MazeSpecification} without blocking the calling
+ * thread. The creation is split in phases (the generation of the board, then
+ * the searches of the initial cell, of the exit cell and of the minimum path
+ * length) run one after the other on an executor.
+ * 
+ * A listener is told when each phase starts, e.g. to show the progress to the
+ * user. Cancelling the future returned by {@link #buildAsync()} stops the
+ * creation before its next phase, or during the generation and the searches,
+ * which poll the future every few thousand cells.
+ * 
+ * If the maze of the specification was pre-generated in the background by the
+ * {@code MazePregenerator}, its layout is used and the searches are skipped.
+ */
+public class MazeModelBuilder {
+
+    public enum Phase {
+        GENERATION("Generating the maze"),
+        INITIAL_CELL("Searching the initial cell"),
+        EXIT_CELL("Searching the exit cell"),
+        MINIMUM_PATH_LENGTH("Measuring the shortest path");
+
+        private static final int FULL_PROGRESS = 100;
+
+        private final String description;
+
+        private Phase(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * @return the percentage of the creation done when the phase starts
+         */
+        public int getProgress() {
+            return ordinal() * FULL_PROGRESS / values().length;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called on the thread running the phase, before it starts.
+         * 
+         * @param phase
+         */
+        void phaseStarted(Phase phase);
+    }
+
+    private final MazeSpecification specification;
+    private Player[] players;
+    private ScoreType scoreType;
+    private ProgressListener progressListener = phase -> {
+    };
+    private Executor executor = ForkJoinPool.commonPool();
+
+    public MazeModelBuilder(MazeSpecification specification) {
+        if (specification == null) {
+            throw new IllegalArgumentException("The specification cannot be null");
+        }
+        this.specification = specification;
+    }
+
+    public MazeModelBuilder setPlayers(Player[] players) {
+        this.players = players;
+        return this;
+    }
+
+    public MazeModelBuilder setScoreType(ScoreType scoreType) {
+        this.scoreType = scoreType;
+        return this;
+    }
+
+    public MazeModelBuilder setProgressListener(ProgressListener progressListener) {
+        if (progressListener == null) {
+            throw new IllegalArgumentException("The progress listener cannot be null");
+        }
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    public MazeModelBuilder setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null");
+        }
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Starts the creation of the maze on the executor.
+     * 
+     * @return the future maze; cancelling it stops the creation soon, even in
+     *         the middle of a phase
+     */
+    public CompletableFuture<MazeModel> buildAsync() {
+        CompletableFuture<MazeModel> result = new CompletableFuture<>();
+        Construction construction = new Construction(result);
+
+        CompletableFuture.runAsync(construction::generateBoard, executor)
+                .thenRunAsync(construction::findInitialCell, executor)
+                .thenRunAsync(construction::findExitCell, executor)
+                .thenRunAsync(construction::computeMinimumPathLength, executor)
+                .whenComplete((ignored, error) -> construction.complete(error));
+
+        return result;
+    }
+
+    /**
+     * The state of a creation, handed over from one phase to the next. The
+     * phases run one after the other, so it needs no synchronization.
+     */
+    private class Construction {
+
+        private final CompletableFuture<MazeModel> result;
+        private MazeLayout layout;
+        private Board board;
+        private CellFinder finder;
+        private Coordinates initialCell;
+        private Coordinates exitCell;
+
+        private Construction(CompletableFuture<MazeModel> result) {
+            this.result = result;
+        }
+
+        private void generateBoard() {
+            startPhase(Phase.GENERATION);
+            layout = MazePregenerator.getInstance().takeLayout(specification);
+            if (layout == null) {
+                board = MazeModelFactory.createBoardGenerator(specification).generateBoard(result::isDone);
+                finder = new CellFinder(board);
+                finder.setCancellationCheck(result::isDone);
+            }
+        }
+
+        private void findInitialCell() {
+            startPhase(Phase.INITIAL_CELL);
+            if (layout == null) {
+                initialCell = finder.getClosestToTopCell();
+            }
+        }
+
+        private void findExitCell() {
+            startPhase(Phase.EXIT_CELL);
+            if (layout == null) {
+                exitCell = finder.getFurthestCell(initialCell);
+            }
+        }
+
+        /**
+         * The last search started from the initial cell, so the distance is
+         * read from the distance map of the finder.
+         */
+        private void computeMinimumPathLength() {
+            startPhase(Phase.MINIMUM_PATH_LENGTH);
+            if (layout == null) {
+                int minimumPathLength = finder.getDistance(initialCell, exitCell);
+                layout = new MazeLayout(board, initialCell, exitCell, minimumPathLength, specification);
+            }
+        }
+
+        private void startPhase(Phase phase) {
+            if (result.isDone()) {
+                throw new CancellationException();
+            }
+            progressListener.phaseStarted(phase);
+        }
+
+        private void complete(Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            try {
+                result.complete(new MazeModelImplementation(layout, players, scoreType));
+            } catch (IllegalArgumentException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private Throwable unwrap(Throwable error) {
+            if (error instanceof CompletionException && error.getCause() != null) {
+                return error.getCause();
+            }
+            return error;
+        }
+    }
+}
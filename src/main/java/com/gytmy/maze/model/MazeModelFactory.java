@@ -1,11 +1,23 @@
 package com.gytmy.maze.model;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.board.MappedBoard;
 import com.gytmy.maze.model.gamemode.BlackoutGameData;
 import com.gytmy.maze.model.gamemode.ClassicGameModeData;
 import com.gytmy.maze.model.generators.BoardGenerator;
 import com.gytmy.maze.model.generators.DepthFirstGenerator;
+import com.gytmy.maze.model.generators.EllerGenerator;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.maze.model.generators.KruskalGenerator;
+import com.gytmy.maze.model.generators.TiledDepthFirstGenerator;
+import com.gytmy.maze.model.generators.WilsonGenerator;
 import com.gytmy.maze.model.player.Player;
 import com.gytmy.maze.model.score.ScoreType;
+import com.gytmy.utils.CellFinder;
 import com.gytmy.utils.Coordinates;
 
 /**
@@ -13,6 +25,17 @@ import com.gytmy.utils.Coordinates;
  * by the {@code MazeController} to create a new {@code MazeModel}
  * instance when the user starts a new game.
  * 
+ * Mazes whose width or height exceeds {@code LARGE_MAZE_THRESHOLD} are
+ * considered large mazes. They are generated by the
+ * {@code DepthFirstGenerator}, which writes directly into a bit-packed board,
+ * or by the {@code TiledDepthFirstGenerator} on several cores for the biggest
+ * ones. The view renders them with a painted panel instead of one component per
+ * cell (see {@link #isLargeMaze(int, int)}).
+ * 
+ * A maze can also be described by a {@code MazeSpecification}, including the
+ * seed of its generation, to be regenerated identically. The layouts of the
+ * last mazes created this way are kept in a least recently used cache.
+ * 
  * @see com.gytmy.maze.model.gamemode.GameMode
  */
 public class MazeModelFactory {
@@ -20,39 +43,234 @@ public class MazeModelFactory {
     public static final int MINIMUM_WIDTH_1D = 3;
     public static final int MINIMUM_WIDTH_2D = 5;
     public static final int MINIMUM_HEIGHT_2D = 5;
-    public static final int MAXIMUM_SIZE = 40;
+    public static final int LARGE_MAZE_THRESHOLD = 40;
+    public static final int MAXIMUM_SIZE = 4096;
+    public static final GeneratorType DEFAULT_GENERATOR_TYPE = GeneratorType.DEPTH_FIRST;
+    // Mazes at least this big are generated by tiles on several cores
+    public static final int PARALLEL_GENERATION_THRESHOLD = 4 * TiledDepthFirstGenerator.TILE_SIZE;
+    // Number of mazes whose layout is kept by the factory
+    public static final int LAYOUT_CACHE_CAPACITY = 16;
+
+    private static final MazeLayoutCache layoutCache = new MazeLayoutCache(LAYOUT_CACHE_CAPACITY);
 
     private MazeModelFactory() {
     }
 
+    /**
+     * Creates the maze of a new game. If a maze with the same settings was
+     * pre-generated in the background by the {@code MazePregenerator}, it is
+     * used instead of generating a new one.
+     * 
+     * @param gameData
+     * @return the maze
+     */
     public static MazeModel createMaze(GameData gameData) {
+        MazeSpecification specification = createSpecification(gameData);
+        MazeLayout layout = MazePregenerator.getInstance().takeLayout(specification);
+        if (layout == null) {
+            layout = generateLayout(specification);
+        }
+        return new MazeModelImplementation(layout, gameData.getPlayers(), gameData.getScoreType());
+    }
+
+    /**
+     * @param gameData
+     * @return a builder creating the maze of a new game on a worker thread
+     * @see MazeModelBuilder#buildAsync()
+     */
+    public static MazeModelBuilder createMazeBuilder(GameData gameData) {
+        return new MazeModelBuilder(createSpecification(gameData))
+                .setPlayers(gameData.getPlayers())
+                .setScoreType(gameData.getScoreType());
+    }
+
+    /**
+     * @param gameData
+     * @return the specification of a new maze for the game, with a random seed
+     */
+    public static MazeSpecification createSpecification(GameData gameData) {
+        long seed = ThreadLocalRandom.current().nextLong();
         switch (gameData.getGameMode()) {
             case CLASSIC:
-                return createClassicMaze(gameData);
+                ClassicGameModeData classicData = (ClassicGameModeData) gameData.getGameModeData();
+                return new MazeSpecification(DEFAULT_GENERATOR_TYPE, classicData.getWidth(), classicData.getHeight(),
+                        seed);
             case BLACKOUT:
-                return createBlackoutMaze(gameData);
+                BlackoutGameData blackoutData = (BlackoutGameData) gameData.getGameModeData();
+                int size = blackoutData.getDifficulty().getSize();
+                return new MazeSpecification(DEFAULT_GENERATOR_TYPE, size, size, seed);
             default:
                 throw new IllegalArgumentException("Game mode not supported");
         }
     }
 
-    private static MazeModel createClassicMaze(GameData gameData) {
-        ClassicGameModeData gameModeData = (ClassicGameModeData) gameData.getGameModeData();
-        int width = gameModeData.getWidth();
-        int height = gameModeData.getHeight();
-        BoardGenerator generator = getBoardGenerator(width, height, null);
-        return createMaze(generator, null, null, gameData.getPlayers(), gameData.getScoreType());
+    /**
+     * @param width
+     * @param height
+     * @return true if the maze is too big to be handled like a regular maze,
+     *         in which case memory-efficient implementations must be used;
+     *         false otherwise
+     */
+    public static boolean isLargeMaze(int width, int height) {
+        return width > LARGE_MAZE_THRESHOLD || height > LARGE_MAZE_THRESHOLD;
+    }
+
+    /**
+     * @param type   the algorithm used to generate the maze
+     * @param width
+     * @param height
+     * @return a new generator of the given type, with a random seed
+     */
+    public static BoardGenerator createBoardGenerator(GeneratorType type, int width, int height) {
+        return createBoardGenerator(new MazeSpecification(type, width, height, ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * @param specification
+     * @return a new generator following the specification, generating the
+     *         same maze at each call; the depth-first generation of the
+     *         largest mazes is done by tiles on several cores
+     */
+    public static BoardGenerator createBoardGenerator(MazeSpecification specification) {
+        int width = specification.getWidth();
+        int height = specification.getHeight();
+        long seed = specification.getSeed();
+        switch (specification.getGeneratorType()) {
+            case DEPTH_FIRST:
+                if (specification.getStart() == null && isParallelGenerationWorthwhile(width, height)) {
+                    return new TiledDepthFirstGenerator(width, height, seed);
+                }
+                return new DepthFirstGenerator(width, height, specification.getStart(), seed);
+            case ELLER:
+                return new EllerGenerator(width, height, seed);
+            case KRUSKAL:
+                return new KruskalGenerator(width, height, seed);
+            case WILSON:
+                return new WilsonGenerator(width, height, seed);
+            default:
+                throw new IllegalArgumentException("Generator type not supported");
+        }
+    }
+
+    /**
+     * Splitting the generation only pays off when there are several tiles; the
+     * tiles have to be copied in the board afterwards. The choice does not
+     * depend on the number of cores, so that a seed gives the same maze on
+     * every computer.
+     */
+    private static boolean isParallelGenerationWorthwhile(int width, int height) {
+        return Math.max(width, height) >= PARALLEL_GENERATION_THRESHOLD;
+    }
+
+    /**
+     * Creates the maze of a specification. Its layout is taken from the cache
+     * of the factory if the same specification was used recently, so replays,
+     * challenges shared by seed and repeated sizes start without any
+     * generation nor search.
+     * 
+     * @param specification
+     * @param players
+     * @param scoreType
+     * @return the maze
+     */
+    public static MazeModel createMaze(MazeSpecification specification, Player[] players, ScoreType scoreType) {
+        return new MazeModelImplementation(getLayout(specification), players, scoreType);
+    }
+
+    /**
+     * @param specification
+     * @return the layout of the maze of the specification, generated and put
+     *         in the cache if it was not there
+     */
+    public static MazeLayout getLayout(MazeSpecification specification) {
+        MazeLayout layout = layoutCache.get(specification);
+        if (layout == null) {
+            layout = generateLayout(specification);
+            layoutCache.put(specification, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Generates the maze of the specification and searches its initial and
+     * exit cells and its minimum path length, without using the cache.
+     * 
+     * A single finder searches the board: the last search starts from the
+     * initial cell, so the minimum path length is read from its distance map.
+     * 
+     * @param specification
+     * @return the layout of the maze
+     */
+    static MazeLayout generateLayout(MazeSpecification specification) {
+        Board board = createBoardGenerator(specification).generateBoard();
+        CellFinder finder = new CellFinder(board);
+        Coordinates initialCell = finder.getClosestToTopCell();
+        Coordinates exitCell = finder.getFurthestCell(initialCell);
+        int minimumPathLength = finder.getDistance(initialCell, exitCell);
+        return new MazeLayout(board, initialCell, exitCell, minimumPathLength, specification);
+    }
+
+    /**
+     * Empties the cache of the layouts, e.g. to release its memory.
+     */
+    public static void clearLayoutCache() {
+        layoutCache.clear();
+    }
+
+    /**
+     * Opens a pre-generated maze stored in a {@code BoardFile}. The board is
+     * memory-mapped and the players start at the closest cell to the top left
+     * corner and exit at the closest cell to the bottom right corner, so the
+     * maze opens in near-constant time whatever its size.
+     * 
+     * The distances to the exit are not searched until they are first needed,
+     * e.g. by {@link MazeModel#getMinimumPathLength()}. They cannot be searched
+     * on a board larger than {@link MazeModelImplementation#MAXIMUM_SEARCHED_CELLS}
+     * cells.
+     * 
+     * @param path      the path of the board file
+     * @param players
+     * @param scoreType
+     * @return the maze
+     * @throws IOException if the file cannot be read or is not a valid board
+     *                     file
+     */
+    public static MazeModel openMaze(Path path, Player[] players, ScoreType scoreType) throws IOException {
+        Board board = MappedBoard.open(path);
+        CellFinder finder = new CellFinder(board);
+        return new MazeModelImplementation(board, finder.getClosestToTopCell(), finder.getClosestToBottomCell(),
+                players, scoreType);
     }
 
-    private static MazeModel createBlackoutMaze(GameData gameData) {
-        BlackoutGameData gameModeData = (BlackoutGameData) gameData.getGameModeData();
-        int size = gameModeData.getDifficulty().getSize();
-        BoardGenerator generator = getBoardGenerator(size, size, null);
-        return createMaze(generator, null, null, gameData.getPlayers(), gameData.getScoreType());
+    /**
+     * Saves the maze of a game in a {@code MazeFile}, so that it can be played
+     * again with {@link #loadMaze(Path, Player[], ScoreType)}.
+     * 
+     * @param path          the path of the file
+     * @param model         the maze
+     * @param withDistances true to also store the distance to the exit of every
+     *                      cell, making the file bigger but the maze faster to
+     *                      open
+     * @throws IOException if the file cannot be written
+     */
+    public static void saveMaze(Path path, MazeModel model, boolean withDistances) throws IOException {
+        MazeFile.of(model, withDistances).write(path);
     }
 
-    private static BoardGenerator getBoardGenerator(int width, int height, Coordinates initialCell) {
-        return new DepthFirstGenerator(width, height, initialCell);
+    /**
+     * Loads a maze saved in a {@code MazeFile}. Unlike
+     * {@link #openMaze(Path, Player[], ScoreType)}, the whole maze is read in
+     * memory and nothing is searched.
+     * 
+     * @param path      the path of the file
+     * @param players
+     * @param scoreType
+     * @return the maze
+     * @throws IOException if the file cannot be read or is not a valid maze
+     *                     file
+     */
+    public static MazeModel loadMaze(Path path, Player[] players, ScoreType scoreType) throws IOException {
+        return MazeFile.read(path).createMaze(players, scoreType);
     }
 
     public static MazeModel createMaze(BoardGenerator generator, Coordinates initialCell, Coordinates endCell,
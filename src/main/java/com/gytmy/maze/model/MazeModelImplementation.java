@@ -3,6 +3,7 @@ package com.gytmy.maze.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.gytmy.maze.model.board.Board;
 import com.gytmy.maze.model.generators.BoardGenerator;
 import com.gytmy.maze.model.player.Player;
 import com.gytmy.maze.model.score.ScoreCalculator;
@@ -10,9 +11,11 @@ import com.gytmy.maze.model.score.ScoreCalculatorFactory;
 import com.gytmy.maze.model.score.ScoreInfo;
 import com.gytmy.maze.model.score.ScoreType;
 import com.gytmy.maze.model.score.SimpleScoreInfo;
-import com.gytmy.utils.Boolean2DArraysOperations;
 import com.gytmy.utils.CellFinder;
 import com.gytmy.utils.Coordinates;
+import com.gytmy.utils.JunctionGraph;
+import com.gytmy.utils.JunctionGraph.DistanceField;
+import com.gytmy.utils.PathFinder;
 
 /**
  * Implementation of the MazeModel interface. It is used to represent the
@@ -20,8 +23,9 @@ import com.gytmy.utils.Coordinates;
  * 
  * In order to create a maze, you can either pass a board to the
  * constructor or use a BoardGenerator to generate a board. The board is
- * represented as a 2D array of booleans. A true value means that the cell is
- * not a wall, a false value means that the cell is a wall.
+ * represented as a read-only {@code Board}, packed with one bit per cell,
+ * either in memory or in a mapped file. A path cell is not a wall, any other
+ * cell is a wall.
  * 
  * The default strategy to generate the maze is DepthFirstGenerator.
  * 
@@ -33,26 +37,65 @@ import com.gytmy.utils.Coordinates;
  */
 public class MazeModelImplementation implements MazeModel {
 
-    private boolean[][] board;
+    // The distances of a bigger board, e.g. a mapped one, would not fit in
+    // the heap, since they take four bytes per cell
+    public static final long MAXIMUM_SEARCHED_CELLS = (long) (MazeModelFactory.MAXIMUM_SIZE + 1)
+            * (MazeModelFactory.MAXIMUM_SIZE + 1);
+
+    private static final int NOT_COMPUTED = -2;
+
+    private Board board;
     private Coordinates initialCell;
     private Coordinates exitCell;
-
-    private int minimumPathLength;
+    private MazeSpecification specification;
+
+    private int minimumPathLength = NOT_COMPUTED;
+    // Distance from every cell to the exit cell, indexed by y * width + x.
+    // Computed on first use, so that a mapped board opens without a search,
+    // and read without locking once it is known.
+    private volatile int[] distancesToExit;
+    // Until then, the paths to the exit are followed on the graph of the
+    // board, which does not need the distance of every cell
+    private JunctionGraph graph;
+    private DistanceField exitField;
+    private PathFinder pathFinder;
 
     private Player[] players;
+    // Built on the first lookup of the players of a cell
+    private PlayerIndex playerIndex;
 
     private ScoreType scoreType;
 
     public MazeModelImplementation(BoardGenerator generator, Coordinates initialCell, Coordinates exitCell,
             Player[] players, ScoreType scoreType) {
-        this.board = generator.generate();
+        this(generator.generateBoard(), initialCell, exitCell, players, scoreType);
+    }
+
+    /**
+     * Creates a model from a layout computed beforehand, without any search in
+     * the board.
+     * 
+     * @param layout
+     * @param players
+     * @param scoreType
+     */
+    public MazeModelImplementation(MazeLayout layout, Player[] players, ScoreType scoreType) {
+        this(layout.getBoard(), layout.getInitialCell(), layout.getExitCell(), players, scoreType);
+        this.minimumPathLength = layout.getMinimumPathLength();
+        this.specification = layout.getSpecification();
+    }
+
+    public MazeModelImplementation(Board board, Coordinates initialCell, Coordinates exitCell,
+            Player[] players, ScoreType scoreType) {
+        this.board = board;
         handleNullArguments();
         handleInvalidBoardSize();
-        this.initialCell = determineInitialCell(initialCell);
-        this.exitCell = determineExitCell(exitCell);
+        // A single finder is shared so that its search buffers are reused
+        CellFinder finder = new CellFinder(board);
+        this.initialCell = determineInitialCell(initialCell, finder);
+        this.exitCell = determineExitCell(exitCell, finder);
         this.players = players;
         this.scoreType = scoreType;
-        this.minimumPathLength = calculateMinimumPathLength();
     }
 
     /**
@@ -74,10 +117,10 @@ public class MazeModelImplementation implements MazeModel {
      * @param board
      */
     private void handleInvalidBoardSize() {
-        if (board.length < 3) {
+        if (board.getHeight() < 3) {
             throw new IllegalArgumentException("Board must have at least 3 rows");
         }
-        if (board[0].length < 3) {
+        if (board.getWidth() < 3) {
             throw new IllegalArgumentException("Board must have at least 3 columns");
         }
     }
@@ -88,12 +131,12 @@ public class MazeModelImplementation implements MazeModel {
      * wall, it throws an IllegalArgumentException.
      * 
      * @param initialCell
+     * @param finder
      * @return the initial cell
      */
-    private Coordinates determineInitialCell(Coordinates initialCell) {
+    private Coordinates determineInitialCell(Coordinates initialCell, CellFinder finder) {
         if (initialCell == null) {
             // Get a random non-wall cell
-            CellFinder finder = new CellFinder(board);
             initialCell = finder.getClosestToTopCell();
         }
         handleInvalidStartCell(initialCell);
@@ -111,7 +154,7 @@ public class MazeModelImplementation implements MazeModel {
             throw new IllegalArgumentException("Initial cell is outside the board");
         }
 
-        if (!board[initialCell.getY()][initialCell.getX()]) {
+        if (board.isWall(initialCell.getX(), initialCell.getY())) {
             throw new IllegalArgumentException("Initial cell is a wall");
         }
 
@@ -124,12 +167,12 @@ public class MazeModelImplementation implements MazeModel {
      * Determines the exit cell. If it is null, it will be set to the furthest
      * cell from the initial cell.
      * 
-     * @param exitCell\
+     * @param exitCell
+     * @param finder
      * @return the exit cell
      */
-    private Coordinates determineExitCell(Coordinates exitCell) {
+    private Coordinates determineExitCell(Coordinates exitCell, CellFinder finder) {
         if (exitCell == null) {
-            CellFinder finder = new CellFinder(board);
             exitCell = finder.getFurthestCell(initialCell);
         }
         handleInvalidExitCell(exitCell);
@@ -147,7 +190,7 @@ public class MazeModelImplementation implements MazeModel {
             throw new IllegalArgumentException("Exit cell is outside the board");
         }
 
-        if (!board[exitCell.getY()][exitCell.getX()]) {
+        if (board.isWall(exitCell.getX(), exitCell.getY())) {
             throw new IllegalArgumentException("Exit cell is a wall");
         }
         if (exitCell.equals(initialCell)) {
@@ -156,21 +199,12 @@ public class MazeModelImplementation implements MazeModel {
     }
 
     private boolean isOutsideBounds(Coordinates cell) {
-        return cell.getX() < 0 || cell.getX() >= board[0].length ||
-                cell.getY() < 0 || cell.getY() >= board.length;
-    }
-
-    private int calculateMinimumPathLength() {
-        CellFinder finder = new CellFinder(board);
-        return finder.getDistance(initialCell, exitCell);
+        return !board.isInside(cell.getX(), cell.getY());
     }
 
     @Override
-    public boolean[][] getBoard() {
-        if (board == null) {
-            return new boolean[0][0];
-        }
-        return Boolean2DArraysOperations.copy(board);
+    public Board getBoard() {
+        return board;
     }
 
     @Override
@@ -183,6 +217,11 @@ public class MazeModelImplementation implements MazeModel {
         return exitCell;
     }
 
+    @Override
+    public MazeSpecification getSpecification() {
+        return specification;
+    }
+
     @Override
     public Player[] getPlayers() {
         return players;
@@ -194,27 +233,57 @@ public class MazeModelImplementation implements MazeModel {
     }
 
     public List<Player> getPlayersAtCoordinates(Coordinates coordinates) {
+        return getPlayersAtCoordinates(coordinates.getX(), coordinates.getY());
+    }
+
+    @Override
+    public List<Player> getPlayersAtCoordinates(int x, int y) {
         List<Player> res = new ArrayList<>();
-        for (Player player : players) {
-            if (player != null &&
-                    coordinates.equals(player.getCoordinates())) {
-                res.add(player);
-            }
+        if (players != null) {
+            getPlayerIndex().collectPlayersAt(x, y, res);
         }
-
         return res;
     }
 
+    private PlayerIndex getPlayerIndex() {
+        if (playerIndex == null) {
+            playerIndex = new PlayerIndex(players, board.getWidth(), board.getHeight());
+        }
+        return playerIndex;
+    }
+
+    @Override
+    public void setPlayerCoordinates(Player player, int x, int y) {
+        player.setCoordinates(x, y);
+        updatePlayerIndex(player);
+    }
+
+    private void updatePlayerIndex(Player player) {
+        if (playerIndex != null) {
+            playerIndex.update(player);
+        }
+    }
+
     @Override
     public boolean isInitialCell(Coordinates coordinates) {
         return coordinates.equals(initialCell);
     }
 
+    @Override
+    public boolean isInitialCell(int x, int y) {
+        return initialCell.getX() == x && initialCell.getY() == y;
+    }
+
     @Override
     public boolean isExitCell(Coordinates coordinates) {
         return coordinates.equals(exitCell);
     }
 
+    @Override
+    public boolean isExitCell(int x, int y) {
+        return exitCell.getX() == x && exitCell.getY() == y;
+    }
+
     @Override
     public boolean movePlayer(Player player, Direction direction) {
         if (!isMoveValid(player, direction)) {
@@ -222,6 +291,7 @@ public class MazeModelImplementation implements MazeModel {
         }
 
         player.move(direction);
+        updatePlayerIndex(player);
         return true;
     }
 
@@ -249,11 +319,11 @@ public class MazeModelImplementation implements MazeModel {
             case UP:
                 return player.getY() <= 0;
             case DOWN:
-                return player.getY() >= board.length - 1;
+                return player.getY() >= board.getHeight() - 1;
             case LEFT:
                 return player.getX() <= 0;
             case RIGHT:
-                return player.getX() >= board[1].length - 1;
+                return player.getX() >= board.getWidth() - 1;
             default:
                 return false;
         }
@@ -298,7 +368,7 @@ public class MazeModelImplementation implements MazeModel {
      *         false otherwise
      */
     public boolean isWall(int x, int y) {
-        return !board[y][x];
+        return board.isWall(x, y);
     }
 
     public boolean isWall(Coordinates coordinates) {
@@ -325,14 +395,141 @@ public class MazeModelImplementation implements MazeModel {
 
     @Override
     public boolean isPlayerAtExit(Player player) {
-        return player.getCoordinates().equals(exitCell);
+        return player.isAt(exitCell.getX(), exitCell.getY());
     }
 
     @Override
     public int getMinimumPathLength() {
+        if (minimumPathLength == NOT_COMPUTED) {
+            minimumPathLength = getDistanceToExit(initialCell);
+        }
         return minimumPathLength;
     }
 
+    @Override
+    public int getDistanceToExit(int x, int y) {
+        if (!board.isInside(x, y)) {
+            return -1;
+        }
+        return getDistanceMap()[y * board.getWidth() + x];
+    }
+
+    @Override
+    public int[] getDistancesToExit() {
+        return getDistanceMap().clone();
+    }
+
+    /**
+     * Uses distances computed beforehand, e.g. stored in a {@code MazeFile},
+     * instead of searching them when they are first needed.
+     * 
+     * @param distancesToExit the distance to the exit of each cell, indexed by
+     *                        {@code y * width + x}
+     */
+    synchronized void setDistancesToExit(int[] distancesToExit) {
+        if (distancesToExit.length != board.getWidth() * board.getHeight()) {
+            throw new IllegalArgumentException("There must be one distance per cell");
+        }
+        this.distancesToExit = distancesToExit;
+    }
+
+    private int[] getDistanceMap() {
+        int[] distances = distancesToExit;
+        return distances != null ? distances : searchDistanceMap();
+    }
+
+    private synchronized int[] searchDistanceMap() {
+        if (distancesToExit == null) {
+            checkSearchedSize();
+            distancesToExit = new CellFinder(board).getDistanceField(exitCell);
+        }
+        return distancesToExit;
+    }
+
+    /**
+     * @return the graph of the board, with the distances from the exit to its
+     *         nodes in {@code exitField}
+     */
+    private JunctionGraph getGraph() {
+        if (graph == null) {
+            checkSearchedSize();
+            JunctionGraph newGraph = new JunctionGraph(board);
+            exitField = newGraph.getDistanceField(exitCell);
+            graph = newGraph;
+        }
+        return graph;
+    }
+
+    private void checkSearchedSize() {
+        if ((long) board.getWidth() * board.getHeight() > MAXIMUM_SEARCHED_CELLS) {
+            throw new IllegalStateException("The board is too large to search the distances to the exit");
+        }
+    }
+
+    @Override
+    public int getDistanceToExit(Coordinates coordinates) {
+        return getDistanceToExit(coordinates.getX(), coordinates.getY());
+    }
+
+    /**
+     * Reads the path from the distances to the exit once they are known, or
+     * follows it on the graph of the board until then, so that a hint does
+     * not need the distance of every cell.
+     */
+    @Override
+    public synchronized int[] getPathToExit(Coordinates from) {
+        if (isOutsideBounds(from)) {
+            return null;
+        }
+        int[] distances = distancesToExit;
+        if (distances == null) {
+            return getGraph().getPathToSource(exitField, from);
+        }
+        int distance = distances[from.toIndex(board.getWidth())];
+        if (distance < 0) {
+            return null;
+        }
+        int[] path = new int[distance + 1];
+        path[0] = from.toIndex(board.getWidth());
+        for (int index = 1; index < path.length; index++) {
+            path[index] = getCloserNeighbor(path[index - 1], distances);
+        }
+        return path;
+    }
+
+    /**
+     * @return the neighbor of the cell one step closer to the exit
+     */
+    private int getCloserNeighbor(int cell, int[] distances) {
+        int width = board.getWidth();
+        int x = cell % width;
+        int closerDistance = distances[cell] - 1;
+        if (cell >= width && distances[cell - width] == closerDistance) {
+            return cell - width;
+        }
+        if (cell + width < distances.length && distances[cell + width] == closerDistance) {
+            return cell + width;
+        }
+        if (x > 0 && distances[cell - 1] == closerDistance) {
+            return cell - 1;
+        }
+        if (x < width - 1 && distances[cell + 1] == closerDistance) {
+            return cell + 1;
+        }
+        throw new IllegalStateException("The distances to the exit are inconsistent");
+    }
+
+    @Override
+    public synchronized int[] findShortestPath(Coordinates start, Coordinates end) {
+        if (isOutsideBounds(start) || isWall(start) || isOutsideBounds(end) || isWall(end)) {
+            return null;
+        }
+        if (pathFinder == null) {
+            pathFinder = new PathFinder(board);
+        }
+        return pathFinder.findPathBidirectional(start, end);
+    }
+
     @Override
     public int getScore(Player player) {
         ScoreCalculator calculator = getScoreCalculator(player);
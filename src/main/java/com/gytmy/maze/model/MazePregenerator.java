@@ -0,0 +1,96 @@
+package com.gytmy.maze.model;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Generates the maze of the next game in the background while the current
+ * game runs, so that playing again with the same settings does not wait for
+ * the generation of the board nor for the searches of its cells.
+ * 
+ * Only the layout of the next maze is generated: the model is created with
+ * the players when the game starts. A single maze is pre-generated at a time,
+ * on a low priority daemon thread.
+ * 
+ * This class is a singleton.
+ */
+public class MazePregenerator {
+
+    private static MazePregenerator instance;
+
+    private final Function<MazeSpecification, MazeLayout> layoutGenerator;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MazePregenerator");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private MazeSpecification nextSpecification;
+    private Future<MazeLayout> nextLayout;
+
+    MazePregenerator(Function<MazeSpecification, MazeLayout> layoutGenerator) {
+        this.layoutGenerator = layoutGenerator;
+    }
+
+    public static synchronized MazePregenerator getInstance() {
+        if (instance == null) {
+            instance = new MazePregenerator(MazeModelFactory::generateLayout);
+        }
+        return instance;
+    }
+
+    /**
+     * Starts generating the maze of the specification in the background. The
+     * maze being pre-generated is dropped unless it has the same settings.
+     * 
+     * @param specification
+     */
+    public synchronized void pregenerate(MazeSpecification specification) {
+        if (specification == null) {
+            throw new IllegalArgumentException("The specification cannot be null");
+        }
+        if (specification.hasSameSettings(nextSpecification)) {
+            return;
+        }
+        if (nextLayout != null) {
+            nextLayout.cancel(false);
+        }
+        nextSpecification = specification;
+        nextLayout = executor.submit(() -> layoutGenerator.apply(specification));
+    }
+
+    /**
+     * Hands over the pre-generated maze if it has the same settings as the
+     * given specification. If it is still being generated, the generation is
+     * awaited, which is always faster than starting a new one.
+     * 
+     * @param specification
+     * @return the pre-generated layout or null if there is none with the same
+     *         settings
+     */
+    public MazeLayout takeLayout(MazeSpecification specification) {
+        Future<MazeLayout> layout;
+        synchronized (this) {
+            if (!specification.hasSameSettings(nextSpecification)) {
+                return null;
+            }
+            layout = nextLayout;
+            nextSpecification = null;
+            nextLayout = null;
+        }
+
+        try {
+            return layout.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.gytmy.maze.model;
+
+import java.util.Objects;
+
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.utils.Coordinates;
+
+/**
+ * Describes how a maze is generated: the algorithm, the size, the start cell
+ * of the generation and the seed of the random generator. Two equal
+ * specifications always generate the same maze, so a specification can be
+ * shared to replay a maze and is the key of the cache of the
+ * {@code MazeModelFactory}.
+ * 
+ * Instances are immutable.
+ */
+public class MazeSpecification {
+
+    private final GeneratorType generatorType;
+    private final int width;
+    private final int height;
+    private final Coordinates start;
+    private final long seed;
+
+    public MazeSpecification(GeneratorType generatorType, int width, int height, long seed) {
+        this(generatorType, width, height, null, seed);
+    }
+
+    private MazeSpecification(GeneratorType generatorType, int width, int height, Coordinates start, long seed) {
+        if (generatorType == null) {
+            throw new IllegalArgumentException("The generator type cannot be null");
+        }
+        if (start != null && generatorType != GeneratorType.DEPTH_FIRST) {
+            throw new IllegalArgumentException("The start cell is only supported by the depth-first generator");
+        }
+        this.generatorType = generatorType;
+        this.width = width;
+        this.height = height;
+        this.start = start == null ? null : start.copy();
+        this.seed = seed;
+    }
+
+    /**
+     * @param start the cell where the depth-first generation starts
+     * @return a copy of this specification with the given start cell
+     */
+    public MazeSpecification withStart(Coordinates start) {
+        return new MazeSpecification(generatorType, width, height, start, seed);
+    }
+
+    public GeneratorType getGeneratorType() {
+        return generatorType;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return a copy of the start cell or null if the generator chooses it
+     */
+    public Coordinates getStart() {
+        return start == null ? null : start.copy();
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param other
+     * @return true if both specifications generate mazes with the same
+     *         algorithm, size and start cell, whatever their seeds; false
+     *         otherwise
+     */
+    public boolean hasSameSettings(MazeSpecification other) {
+        return other != null && generatorType == other.generatorType && width == other.width
+                && height == other.height && Objects.equals(start, other.start);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MazeSpecification)) {
+            return false;
+        }
+        MazeSpecification other = (MazeSpecification) obj;
+        return generatorType == other.generatorType && width == other.width && height == other.height
+                && Objects.equals(start, other.start) && seed == other.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(generatorType, width, height, start, seed);
+    }
+
+    @Override
+    public String toString() {
+        return generatorType + " " + width + "x" + height + (start == null ? "" : " from " + start) + " #" + seed;
+    }
+}
@@ -0,0 +1,202 @@
+package com.gytmy.maze.model;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.utils.Coordinates;
+
+/**
+ * Index of the players of a maze by cell, so that the players of a cell are
+ * found without going through all the players.
+ * 
+ * Only the occupied cells are stored, in an open addressing hash table keyed
+ * by cell index ({@code y * width + x}) and holding the first player of the
+ * cell. The other players of the cell are chained through
+ * {@code nextPlayers}, in the order of the array of players. This way the
+ * index takes a memory proportional to the number of players whatever the
+ * size of the board, and updating it after a move allocates nothing.
+ * 
+ * The players outside the board are not indexed.
+ */
+class PlayerIndex {
+
+    private static final int NO_PLAYER = -1;
+    private static final int NO_CELL = Integer.MIN_VALUE;
+    // The table is kept at most half full
+    private static final int SLOTS_PER_PLAYER = 2;
+    // Fibonacci hashing, so that neighboring cells are spread over the table
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private final Player[] players;
+    private final Map<Player, Integer> playerIds = new IdentityHashMap<>();
+    private final int width;
+    private final int height;
+
+    private final int[] playerCells;
+    private final int[] nextPlayers;
+
+    private final int[] slotCells;
+    private final int[] slotFirstPlayers;
+    private final int mask;
+    private final int hashShift;
+
+    PlayerIndex(Player[] players, int width, int height) {
+        this.players = players;
+        this.width = width;
+        this.height = height;
+        this.playerCells = new int[players.length];
+        this.nextPlayers = new int[players.length];
+
+        // The smallest power of two not lower than the minimum number of slots
+        int minNbSlots = Math.max(1, players.length) * SLOTS_PER_PLAYER;
+        int nbSlots = Integer.highestOneBit(minNbSlots * 2 - 1);
+        this.slotCells = new int[nbSlots];
+        this.slotFirstPlayers = new int[nbSlots];
+        this.mask = nbSlots - 1;
+        this.hashShift = Integer.SIZE - Integer.numberOfTrailingZeros(nbSlots);
+        Arrays.fill(slotCells, NO_CELL);
+        Arrays.fill(playerCells, NO_CELL);
+
+        for (int id = 0; id < players.length; ++id) {
+            if (players[id] != null && !playerIds.containsKey(players[id])) {
+                playerIds.put(players[id], id);
+                addToCell(id, getCell(players[id]));
+            }
+        }
+    }
+
+    /**
+     * Moves the given player to its current cell in the index.
+     * 
+     * @param player
+     */
+    void update(Player player) {
+        Integer id = playerIds.get(player);
+        if (id == null) {
+            return;
+        }
+        int cell = getCell(player);
+        if (cell != playerCells[id]) {
+            removeFromCell(id);
+            addToCell(id, cell);
+        }
+    }
+
+    /**
+     * Adds the players of the given cell to the list, in the order of the
+     * array of players.
+     * 
+     * @param x
+     * @param y
+     * @param result
+     */
+    void collectPlayersAt(int x, int y, List<Player> result) {
+        if (!isInside(x, y)) {
+            return;
+        }
+        int slot = findSlot(Coordinates.toIndex(x, y, width));
+        if (slotCells[slot] == NO_CELL) {
+            return;
+        }
+        for (int id = slotFirstPlayers[slot]; id != NO_PLAYER; id = nextPlayers[id]) {
+            result.add(players[id]);
+        }
+    }
+
+    private int getCell(Player player) {
+        if (!isInside(player.getX(), player.getY())) {
+            return NO_CELL;
+        }
+        return Coordinates.toIndex(player.getX(), player.getY(), width);
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private void addToCell(int id, int cell) {
+        playerCells[id] = cell;
+        if (cell == NO_CELL) {
+            return;
+        }
+        int slot = findSlot(cell);
+        if (slotCells[slot] == NO_CELL) {
+            slotCells[slot] = cell;
+            slotFirstPlayers[slot] = id;
+            nextPlayers[id] = NO_PLAYER;
+            return;
+        }
+        int first = slotFirstPlayers[slot];
+        if (id < first) {
+            nextPlayers[id] = first;
+            slotFirstPlayers[slot] = id;
+            return;
+        }
+        int previous = first;
+        while (nextPlayers[previous] != NO_PLAYER && nextPlayers[previous] < id) {
+            previous = nextPlayers[previous];
+        }
+        nextPlayers[id] = nextPlayers[previous];
+        nextPlayers[previous] = id;
+    }
+
+    private void removeFromCell(int id) {
+        int cell = playerCells[id];
+        if (cell == NO_CELL) {
+            return;
+        }
+        int slot = findSlot(cell);
+        if (slotFirstPlayers[slot] != id) {
+            int previous = slotFirstPlayers[slot];
+            while (nextPlayers[previous] != id) {
+                previous = nextPlayers[previous];
+            }
+            nextPlayers[previous] = nextPlayers[id];
+        } else if (nextPlayers[id] != NO_PLAYER) {
+            slotFirstPlayers[slot] = nextPlayers[id];
+        } else {
+            removeSlot(slot);
+        }
+        playerCells[id] = NO_CELL;
+    }
+
+    /**
+     * @param cell
+     * @return the slot of the cell; the empty slot where it would be added if
+     *         it is not in the table
+     */
+    private int findSlot(int cell) {
+        int slot = getHomeSlot(cell);
+        while (slotCells[slot] != NO_CELL && slotCells[slot] != cell) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private int getHomeSlot(int cell) {
+        return (cell * HASH_MULTIPLIER) >>> hashShift;
+    }
+
+    /**
+     * Empties a slot, shifting back the following cells of the probe sequence
+     * so that no tombstone is needed.
+     */
+    private void removeSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (slotCells[next] != NO_CELL) {
+            int home = getHomeSlot(slotCells[next]);
+            // The cell can fill the hole if its home slot is not between them
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                slotCells[hole] = slotCells[next];
+                slotFirstPlayers[hole] = slotFirstPlayers[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        slotCells[hole] = NO_CELL;
+    }
+}
@@ -0,0 +1,383 @@
+package com.gytmy.maze.model.board;
+
+import java.util.Arrays;
+
+/**
+ * Immutable {@link Board} storing one bit per cell. The cells are stored row
+ * by row in an array of longs, the cell {@code (x, y)} being the bit
+ * {@code y * width + x}. A bit set to 1 means that the cell is a path.
+ * 
+ * Compared to a {@code boolean[][]}, this representation uses 8 times less
+ * memory and can be shared without any defensive copy.
+ * 
+ * Instances are created either from an existing array with
+ * {@link #fromArray(boolean[][])} or cell by cell with a {@link Builder}.
+ */
+public class BitPackedBoard implements Board {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private final int width;
+    private final int height;
+    private final long[] words;
+
+    private BitPackedBoard(int width, int height, long[] words) {
+        this.width = width;
+        this.height = height;
+        this.words = words;
+    }
+
+    /**
+     * @param array the board indexed by {@code [row][column]}
+     * @return a packed copy of the given array
+     */
+    public static BitPackedBoard fromArray(boolean[][] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array cannot be null");
+        }
+        int height = array.length;
+        int width = height == 0 ? 0 : array[0].length;
+
+        Builder builder = new Builder(width, height);
+        for (int row = 0; row < height; ++row) {
+            for (int col = 0; col < width; ++col) {
+                if (array[row][col]) {
+                    builder.setPath(col, row);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean isPath(int x, int y) {
+        return isBitSet(words, y * width + x);
+    }
+
+    private static boolean isBitSet(long[] words, int index) {
+        return (words[index >>> ADDRESS_BITS_PER_WORD] & (1L << index)) != 0;
+    }
+
+    /**
+     * @param width
+     * @param height
+     * @return the number of longs storing a board of the given size
+     */
+    public static int getNumberOfWords(int width, int height) {
+        long nbCells = (long) width * height;
+        return (int) ((nbCells + Long.SIZE - 1) >>> ADDRESS_BITS_PER_WORD);
+    }
+
+    /**
+     * Gives a raw access to the cells, e.g. to store the board in a file
+     * without going through each cell.
+     * 
+     * @param index the index of the word, lower than
+     *              {@link #getNumberOfWords(int, int)}
+     * @return the 64 cells starting at the cell {@code index * 64}
+     */
+    public long getWord(int index) {
+        return words[index];
+    }
+
+    /**
+     * Copies a row in the format of the rows of a {@link BoardFile}, 64 cells
+     * at a time.
+     * 
+     * @param y
+     * @param row receives the row, of at least
+     *            {@link BoardFile#getRowSize(int)} bytes
+     */
+    public void getRow(int y, byte[] row) {
+        int start = y * width;
+        for (int offset = 0; offset < width; offset += Long.SIZE) {
+            int length = Math.min(Long.SIZE, width - offset);
+            long bits = readBits(words, start + offset, length);
+            for (int shift = 0; shift < length; shift += Byte.SIZE) {
+                row[(offset + shift) / Byte.SIZE] = (byte) (bits >>> shift);
+            }
+        }
+    }
+
+    /**
+     * @param board
+     * @return the given board if it is already packed; a packed copy otherwise
+     */
+    public static BitPackedBoard copyOf(Board board) {
+        if (board instanceof BitPackedBoard) {
+            return (BitPackedBoard) board;
+        }
+        Builder builder = new Builder(board.getWidth(), board.getHeight());
+        for (int row = 0; row < board.getHeight(); ++row) {
+            for (int col = 0; col < board.getWidth(); ++col) {
+                if (board.isPath(col, row)) {
+                    builder.setPath(col, row);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * The cells of a row are consecutive bits, so they are checked 64 at a
+     * time.
+     * 
+     * @param y
+     * @return true if all the cells of the row are walls
+     */
+    public boolean isRowEmpty(int y) {
+        int start = y * width;
+        for (int offset = 0; offset < width; offset += Long.SIZE) {
+            if (readBits(words, start + offset, Math.min(Long.SIZE, width - offset)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param x
+     * @return true if all the cells of the column are walls
+     */
+    public boolean isColumnEmpty(int x) {
+        for (int y = 0; y < height; ++y) {
+            if (isPath(x, y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return a copy of this board surrounded by walls. Each row is copied 64
+     * cells at a time into the words of the new board.
+     * 
+     * @param top    the number of rows of walls added above the board
+     * @param left   the number of columns of walls added on its left
+     * @param bottom the number of rows of walls added below the board
+     * @param right  the number of columns of walls added on its right
+     * @return the padded board
+     */
+    public BitPackedBoard pad(int top, int left, int bottom, int right) {
+        if (top < 0 || left < 0 || bottom < 0 || right < 0) {
+            throw new IllegalArgumentException("The borders cannot be negative");
+        }
+        int newWidth = left + width + right;
+        int newHeight = top + height + bottom;
+        long[] newWords = new long[getNumberOfWords(newWidth, newHeight)];
+        for (int y = 0; y < height; ++y) {
+            int destination = (top + y) * newWidth + left;
+            for (int offset = 0; offset < width; offset += Long.SIZE) {
+                int length = Math.min(Long.SIZE, width - offset);
+                orBits(newWords, destination + offset, readBits(words, y * width + offset, length), length);
+            }
+        }
+        return new BitPackedBoard(newWidth, newHeight, newWords);
+    }
+
+    /**
+     * Return a copy of this board whose first and last rows and columns are
+     * walls, adding a row or column of walls only on the sides which are not
+     * already walls.
+     * 
+     * @return the padded board
+     */
+    public BitPackedBoard addMissingBorders() {
+        if (width == 0 || height == 0) {
+            return this;
+        }
+        return pad(
+                isRowEmpty(0) ? 0 : 1,
+                isColumnEmpty(0) ? 0 : 1,
+                isRowEmpty(height - 1) ? 0 : 1,
+                isColumnEmpty(width - 1) ? 0 : 1);
+    }
+
+    /**
+     * @param words
+     * @param index  the index of the first bit
+     * @param length the number of bits read, between 1 and 64
+     * @return the bits, the first one being the lowest
+     */
+    private static long readBits(long[] words, int index, int length) {
+        int wordIndex = index >>> ADDRESS_BITS_PER_WORD;
+        int shift = index & (Long.SIZE - 1);
+        long bits = words[wordIndex] >>> shift;
+        if (shift != 0 && shift + length > Long.SIZE) {
+            bits |= words[wordIndex + 1] << (Long.SIZE - shift);
+        }
+        return length == Long.SIZE ? bits : bits & ((1L << length) - 1);
+    }
+
+    /**
+     * Sets to 1 the bits of the words which are set in the given bits.
+     * 
+     * @param words
+     * @param index  the index of the first bit written
+     * @param bits   the bits, the first one being the lowest
+     * @param length the number of bits written, between 1 and 64
+     */
+    private static void orBits(long[] words, int index, long bits, int length) {
+        int wordIndex = index >>> ADDRESS_BITS_PER_WORD;
+        int shift = index & (Long.SIZE - 1);
+        words[wordIndex] |= bits << shift;
+        if (shift != 0 && shift + length > Long.SIZE) {
+            words[wordIndex + 1] |= bits >>> (Long.SIZE - shift);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof BitPackedBoard)) {
+            return false;
+        }
+        BitPackedBoard other = (BitPackedBoard) obj;
+        return width == other.width && height == other.height && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(words);
+    }
+
+    /**
+     * Mutable counterpart of {@link BitPackedBoard}. It is used by the
+     * generators to carve the maze before freezing it with {@link #build()}.
+     * 
+     * All the cells are walls at the beginning.
+     */
+    public static class Builder {
+
+        private final int width;
+        private final int height;
+        private long[] words;
+
+        public Builder(int width, int height) {
+            if (width < 0 || height < 0) {
+                throw new IllegalArgumentException("The dimensions of the board cannot be negative");
+            }
+            this.width = width;
+            this.height = height;
+            this.words = new long[getNumberOfWords(width, height)];
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public boolean isPath(int x, int y) {
+            return isBitSet(words, y * width + x);
+        }
+
+        public Builder setPath(int x, int y) {
+            int index = y * width + x;
+            words[index >>> ADDRESS_BITS_PER_WORD] |= 1L << index;
+            return this;
+        }
+
+        public Builder setWall(int x, int y) {
+            int index = y * width + x;
+            words[index >>> ADDRESS_BITS_PER_WORD] &= ~(1L << index);
+            return this;
+        }
+
+        /**
+         * Sets as paths the cells of a row which are paths in a row of the
+         * source, 64 cells at a time. The other cells are left unchanged.
+         * 
+         * @param x       the first cell written
+         * @param y       the row written
+         * @param source
+         * @param sourceX the first cell read
+         * @param sourceY the row read
+         * @param length  the number of cells
+         * @return this builder
+         */
+        public Builder setPaths(int x, int y, BitPackedBoard source, int sourceX, int sourceY, int length) {
+            int index = y * width + x;
+            int sourceIndex = sourceY * source.width + sourceX;
+            for (int offset = 0; offset < length; offset += Long.SIZE) {
+                int nbBits = Math.min(Long.SIZE, length - offset);
+                orBits(words, index + offset, readBits(source.words, sourceIndex + offset, nbBits), nbBits);
+            }
+            return this;
+        }
+
+        /**
+         * Sets as paths the cells of a row which are paths in a row of a
+         * {@link BoardFile}, 64 cells at a time, the counterpart of
+         * {@link BitPackedBoard#getRow(int, byte[])}. The other cells are left
+         * unchanged.
+         * 
+         * @param y
+         * @param row the row, of at least {@link BoardFile#getRowSize(int)}
+         *            bytes
+         * @return this builder
+         */
+        public Builder setRow(int y, byte[] row) {
+            int start = y * width;
+            for (int offset = 0; offset < width; offset += Long.SIZE) {
+                int length = Math.min(Long.SIZE, width - offset);
+                long bits = 0;
+                for (int shift = 0; shift < length; shift += Byte.SIZE) {
+                    bits |= (row[(offset + shift) / Byte.SIZE] & 0xFFL) << shift;
+                }
+                if (length < Long.SIZE) {
+                    bits &= (1L << length) - 1;
+                }
+                orBits(words, start + offset, bits, length);
+            }
+            return this;
+        }
+
+        /**
+         * Sets 64 cells at once, the counterpart of
+         * {@link BitPackedBoard#getWord(int)}. The bits after the last cell of
+         * the board are ignored.
+         * 
+         * @param index the index of the word
+         * @param word  the cells starting at the cell {@code index * 64}
+         * @return this builder
+         */
+        public Builder setWord(int index, long word) {
+            long nbCellsAfterWord = (long) width * height - ((long) index << ADDRESS_BITS_PER_WORD);
+            if (nbCellsAfterWord < Long.SIZE) {
+                word &= (1L << nbCellsAfterWord) - 1;
+            }
+            words[index] = word;
+            return this;
+        }
+
+        /**
+         * Freezes the board. The builder cannot be used anymore afterwards, this
+         * way the words are handed over to the board without being copied.
+         * 
+         * @return the built board
+         */
+        public BitPackedBoard build() {
+            if (words == null) {
+                throw new IllegalStateException("The board has already been built");
+            }
+            BitPackedBoard board = new BitPackedBoard(width, height, words);
+            words = null;
+            return board;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.gytmy.maze.model.board;
+
+/**
+ * Read-only view of the board of a maze. A cell is either a path (the players
+ * can walk on it) or a wall.
+ * 
+ * Implementations are immutable, so the same instance can be shared between
+ * the model, the view and the utilities without being copied.
+ */
+public interface Board {
+
+    int getWidth();
+
+    int getHeight();
+
+    /**
+     * @param x
+     * @param y
+     * @return true if the cell at the given coordinates is not a wall;
+     *         false otherwise
+     */
+    boolean isPath(int x, int y);
+
+    default boolean isWall(int x, int y) {
+        return !isPath(x, y);
+    }
+
+    default boolean isInside(int x, int y) {
+        return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
+    }
+
+    /**
+     * @return a new 2D array of booleans representing the board, indexed by
+     *         {@code [row][column]}
+     */
+    default boolean[][] toArray() {
+        boolean[][] array = new boolean[getHeight()][getWidth()];
+        for (int row = 0; row < getHeight(); ++row) {
+            for (int col = 0; col < getWidth(); ++col) {
+                array[row][col] = isPath(col, row);
+            }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,438 @@
+package com.gytmy.maze.model.board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact on-disk format of a board. The file starts with a header of
+ * {@code HEADER_SIZE} bytes, all big-endian: {@code MAGIC}, {@code VERSION},
+ * the width and the height, the size of the extension of the header and the
+ * size of the trailer. The extension follows, then the rows of the board from
+ * top to bottom, then the trailer. The extension and the trailer are not
+ * interpreted here: they let another format, e.g. a {@code MazeFile}, store
+ * its own data around the rows, while any board file can still be read or
+ * mapped as a board.
+ * 
+ * The files of the first version have no extension nor trailer: their header
+ * stops after the height.
+ * 
+ * Each row takes {@link #getRowSize(int)} bytes, the cell {@code x} being the
+ * bit {@code x % 8} of the byte {@code x / 8} of its row. A bit set to 1 means
+ * that the cell is a path. The rows are byte-aligned so that any row can be
+ * read without reading the previous ones.
+ */
+public class BoardFile {
+
+    public static final int MAGIC = 0x474D415A; // "GMAZ"
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES;
+
+    private static final int FIRST_VERSION = 1;
+    private static final int FIRST_VERSION_HEADER_SIZE = 4 * Integer.BYTES;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private BoardFile() {
+    }
+
+    /**
+     * @param width the width of the board
+     * @return the number of bytes of a row of the board
+     */
+    public static int getRowSize(int width) {
+        return (width + Byte.SIZE - 1) / Byte.SIZE;
+    }
+
+    public static void setPath(byte[] row, int x) {
+        row[x / Byte.SIZE] |= 1 << (x % Byte.SIZE);
+    }
+
+    public static boolean isPath(byte[] row, int x) {
+        return (row[x / Byte.SIZE] & (1 << (x % Byte.SIZE))) != 0;
+    }
+
+    /**
+     * Opens a writer creating or overwriting the file at the given path.
+     * 
+     * @param path   the path of the file
+     * @param width  the width of the board
+     * @param height the height of the board
+     * @return the writer, to which every row must be written in order before
+     *         it is closed
+     * @throws IOException if the file cannot be written
+     */
+    public static Writer createWriter(Path path, int width, int height) throws IOException {
+        return createWriter(path, width, height, ByteBuffer.allocate(0), 0);
+    }
+
+    /**
+     * Opens a writer creating or overwriting the file at the given path, with
+     * an extension of the header and a trailer.
+     * 
+     * @param path        the path of the file
+     * @param width       the width of the board
+     * @param height      the height of the board
+     * @param extension   the extension of the header, from its position to its
+     *                    limit
+     * @param trailerSize the size in bytes of the trailer, written with
+     *                    {@link Writer#writeTrailer(int[])} after the rows
+     * @return the writer, to which every row must be written in order
+     * @throws IOException if the file cannot be written
+     */
+    public static Writer createWriter(Path path, int width, int height, ByteBuffer extension, long trailerSize)
+            throws IOException {
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("The dimensions of the board cannot be negative");
+        }
+        if (trailerSize < 0) {
+            throw new IllegalArgumentException("The size of the trailer cannot be negative");
+        }
+        return new Writer(path, width, height, extension, trailerSize);
+    }
+
+    /**
+     * Reads a whole board file in memory.
+     * 
+     * @param path the path of the file
+     * @return the board stored in the file
+     * @throws IOException if the file cannot be read or is not a valid board
+     *                     file
+     */
+    public static BitPackedBoard read(Path path) throws IOException {
+        try (Reader reader = openReader(path)) {
+            return reader.readBoard();
+        }
+    }
+
+    /**
+     * Opens a reader of the file at the given path, after having checked its
+     * header.
+     * 
+     * @param path the path of the file
+     * @return the reader
+     * @throws IOException if the file cannot be read or is not a valid board
+     *                     file
+     */
+    public static Reader openReader(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new Reader(channel, readHeader(channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads and checks the header of a board file, and the extension of its
+     * header if any.
+     * 
+     * @param channel the channel of the file, at its beginning
+     * @return the header, followed by its extension
+     * @throws IOException if the file is not a complete board file
+     */
+    static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.limit(FIRST_VERSION_HEADER_SIZE);
+        if (channel.size() < FIRST_VERSION_HEADER_SIZE) {
+            throw new IOException("Not a board file");
+        }
+        readFully(channel, header);
+        checkVersion(header);
+        if (getVersion(header) == FIRST_VERSION) {
+            checkSize(header, channel.size());
+            return header.clear();
+        }
+        header.limit(HEADER_SIZE);
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("The board file is truncated or corrupted");
+        }
+        readFully(channel, header);
+        if (getExtensionSize(header) < 0 || getTrailerSize(header) < 0) {
+            throw new IOException("The board file is truncated or corrupted");
+        }
+        checkSize(header, channel.size());
+
+        ByteBuffer extended = ByteBuffer.allocate(HEADER_SIZE + getExtensionSize(header));
+        extended.put(header.clear());
+        readFully(channel, extended);
+        return extended.clear();
+    }
+
+    static int getVersion(ByteBuffer header) {
+        return header.getInt(Integer.BYTES);
+    }
+
+    static int getWidth(ByteBuffer header) {
+        return header.getInt(2 * Integer.BYTES);
+    }
+
+    static int getHeight(ByteBuffer header) {
+        return header.getInt(3 * Integer.BYTES);
+    }
+
+    private static int getExtensionSize(ByteBuffer header) {
+        return getVersion(header) == FIRST_VERSION ? 0 : header.getInt(4 * Integer.BYTES);
+    }
+
+    private static long getTrailerSize(ByteBuffer header) {
+        return getVersion(header) == FIRST_VERSION ? 0 : header.getLong(5 * Integer.BYTES);
+    }
+
+    /**
+     * @param header the header of the file, from its first byte
+     * @return the position of the first row in the file
+     */
+    static long getRowsOffset(ByteBuffer header) {
+        if (getVersion(header) == FIRST_VERSION) {
+            return FIRST_VERSION_HEADER_SIZE;
+        }
+        return (long) HEADER_SIZE + getExtensionSize(header);
+    }
+
+    private static long getTrailerOffset(ByteBuffer header) {
+        return getRowsOffset(header) + (long) getRowSize(getWidth(header)) * getHeight(header);
+    }
+
+    /**
+     * @param header the first bytes of the header of the file
+     * @throws IOException if the file is not a board file of a supported
+     *                     version
+     */
+    private static void checkVersion(ByteBuffer header) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a board file");
+        }
+        int version = getVersion(header);
+        if (version != FIRST_VERSION && version != VERSION) {
+            throw new IOException("Unsupported board file version: " + version);
+        }
+    }
+
+    /**
+     * @param header   the header of the file, from its first byte
+     * @param fileSize the size of the whole file
+     * @throws IOException if the header is not the one of a complete board file
+     */
+    private static void checkSize(ByteBuffer header, long fileSize) throws IOException {
+        int width = getWidth(header);
+        int height = getHeight(header);
+        if (width < 0 || height < 0) {
+            throw new IOException("Invalid board dimensions: " + width + "x" + height);
+        }
+        if (fileSize != getTrailerOffset(header) + getTrailerSize(header)) {
+            throw new IOException("The board file is truncated or corrupted");
+        }
+    }
+
+    private static BitPackedBoard readRows(FileChannel channel, int width, int height) throws IOException {
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(width, height);
+        byte[] row = new byte[getRowSize(width)];
+        ByteBuffer rowBuffer = ByteBuffer.wrap(row);
+        for (int y = 0; y < height; y++) {
+            rowBuffer.clear();
+            readFully(channel, rowBuffer);
+            builder.setRow(y, row);
+        }
+        return builder.build();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("The board file is truncated or corrupted");
+            }
+        }
+    }
+
+    /**
+     * Reads the parts of a board file, each one from its position in the
+     * file, so that they can be read in any order.
+     */
+    public static class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer header;
+
+        private Reader(FileChannel channel, ByteBuffer header) {
+            this.channel = channel;
+            this.header = header;
+        }
+
+        public int getWidth() {
+            return BoardFile.getWidth(header);
+        }
+
+        public int getHeight() {
+            return BoardFile.getHeight(header);
+        }
+
+        /**
+         * @return a read-only view of the extension of the header, empty if
+         *         there is none
+         */
+        public ByteBuffer getExtension() {
+            // The header of the first version is read in a buffer of the size of
+            // the current one, so its extension is empty too
+            ByteBuffer extension = header.asReadOnlyBuffer();
+            extension.position(HEADER_SIZE);
+            return extension.slice();
+        }
+
+        /**
+         * @return the size in bytes of the trailer
+         */
+        public long getTrailerSize() {
+            return BoardFile.getTrailerSize(header);
+        }
+
+        /**
+         * @return the board, read in memory
+         * @throws IOException if the rows cannot be read
+         */
+        public BitPackedBoard readBoard() throws IOException {
+            channel.position(getRowsOffset(header));
+            return readRows(channel, getWidth(), getHeight());
+        }
+
+        /**
+         * Reads the whole trailer as big-endian ints, copying them in bulk.
+         * 
+         * @param destination the array filled with the trailer, of exactly
+         *                    the size of the trailer
+         * @throws IOException if the trailer cannot be read
+         */
+        public void readTrailer(int[] destination) throws IOException {
+            if ((long) destination.length * Integer.BYTES != getTrailerSize()) {
+                throw new IllegalArgumentException("The array must have the size of the trailer");
+            }
+            channel.position(getTrailerOffset(header));
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            int offset = 0;
+            while (offset < destination.length) {
+                int count = Math.min(BUFFER_SIZE / Integer.BYTES, destination.length - offset);
+                buffer.clear().limit(count * Integer.BYTES);
+                readFully(channel, buffer);
+                buffer.flip();
+                buffer.asIntBuffer().get(destination, offset, count);
+                offset += count;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes a board file row by row through a buffered channel, so that only
+     * a row of the board is needed in memory at a time.
+     */
+    public static class Writer implements Closeable {
+
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int rowSize;
+        private final int height;
+        private final long trailerSize;
+        private int nbWrittenRows;
+        private boolean trailerWritten;
+
+        private Writer(Path path, int width, int height, ByteBuffer extension, long trailerSize)
+                throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.rowSize = getRowSize(width);
+            this.height = height;
+            this.trailerSize = trailerSize;
+            this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, Math.max(rowSize,
+                    HEADER_SIZE + extension.remaining())));
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height);
+            buffer.putInt(extension.remaining()).putLong(trailerSize);
+            buffer.put(extension.duplicate());
+        }
+
+        /**
+         * @param row the next row, of at least {@link BoardFile#getRowSize(int)}
+         *            bytes
+         * @throws IOException if the row cannot be written
+         */
+        public void writeRow(byte[] row) throws IOException {
+            if (nbWrittenRows == height) {
+                throw new IllegalStateException("All the rows have already been written");
+            }
+            if (buffer.remaining() < rowSize) {
+                flush();
+            }
+            buffer.put(row, 0, rowSize);
+            nbWrittenRows++;
+        }
+
+        /**
+         * Writes the whole trailer as big-endian ints, copying them in the
+         * buffer in bulk.
+         * 
+         * @param values the trailer, of exactly the size given when the writer
+         *               was opened
+         * @throws IOException if the trailer cannot be written
+         */
+        public void writeTrailer(int[] values) throws IOException {
+            if (nbWrittenRows != height || trailerWritten) {
+                throw new IllegalStateException("The trailer must be written once, after all the rows");
+            }
+            if ((long) values.length * Integer.BYTES != trailerSize) {
+                throw new IllegalArgumentException("The array must have the size of the trailer");
+            }
+            int offset = 0;
+            while (offset < values.length) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush();
+                }
+                int count = Math.min(buffer.remaining() / Integer.BYTES, values.length - offset);
+                buffer.asIntBuffer().put(values, offset, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                offset += count;
+            }
+            trailerWritten = true;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Closes the file. If some rows or the trailer are missing, e.g. because
+         * the generation of the board failed, the incomplete file is deleted
+         * rather than left to be rejected when it is read.
+         * 
+         * @throws IllegalStateException if the file was incomplete
+         * @throws IOException           if the file cannot be written or deleted
+         */
+        @Override
+        public void close() throws IOException {
+            if (nbWrittenRows == height && (trailerSize == 0 || trailerWritten)) {
+                try {
+                    flush();
+                } finally {
+                    channel.close();
+                }
+                return;
+            }
+            channel.close();
+            Files.deleteIfExists(path);
+            throw new IllegalStateException("The board file was incomplete and has been deleted");
+        }
+    }
+}
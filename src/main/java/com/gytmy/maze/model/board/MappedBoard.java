@@ -0,0 +1,89 @@
+package com.gytmy.maze.model.board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only {@link Board} reading its cells directly from a memory-mapped
+ * {@link BoardFile}, e.g. a {@code MazeFile}. Opening a board only reads its
+ * header and maps its rows: nothing is parsed nor copied in the heap, so
+ * gigantic pre-generated mazes open in constant time and the operating system
+ * loads the pages of the file when they are first read.
+ * 
+ * A mapping cannot exceed {@code Integer.MAX_VALUE} bytes, so bigger files are
+ * mapped in several segments made of whole rows.
+ */
+public class MappedBoard implements Board {
+
+    private static final long MAXIMUM_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+    private final int width;
+    private final int height;
+    private final int rowSize;
+    private final int rowsPerSegment;
+    private final MappedByteBuffer[] segments;
+
+    private MappedBoard(int width, int height, int rowsPerSegment, MappedByteBuffer[] segments) {
+        this.width = width;
+        this.height = height;
+        this.rowSize = BoardFile.getRowSize(width);
+        this.rowsPerSegment = rowsPerSegment;
+        this.segments = segments;
+    }
+
+    /**
+     * Maps the board file at the given path. The file must not be modified
+     * while the board is used.
+     * 
+     * @param path the path of the board file
+     * @return the mapped board
+     * @throws IOException if the file cannot be read or is not a valid board
+     *                     file
+     */
+    public static MappedBoard open(Path path) throws IOException {
+        return open(path, MAXIMUM_SEGMENT_SIZE);
+    }
+
+    static MappedBoard open(Path path, long maximumSegmentSize) throws IOException {
+        // The mappings stay valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = BoardFile.readHeader(channel);
+            int width = BoardFile.getWidth(header);
+            int height = BoardFile.getHeight(header);
+            int rowSize = BoardFile.getRowSize(width);
+            long rowsOffset = BoardFile.getRowsOffset(header);
+
+            int rowsPerSegment = (int) Math.max(1, Math.min(height, maximumSegmentSize / Math.max(1, rowSize)));
+            int nbSegments = height == 0 ? 0 : (height + rowsPerSegment - 1) / rowsPerSegment;
+            MappedByteBuffer[] segments = new MappedByteBuffer[nbSegments];
+            for (int segment = 0; segment < nbSegments; segment++) {
+                int firstRow = segment * rowsPerSegment;
+                int nbRows = Math.min(rowsPerSegment, height - firstRow);
+                long position = rowsOffset + (long) firstRow * rowSize;
+                segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, position, (long) nbRows * rowSize);
+            }
+            return new MappedBoard(width, height, rowsPerSegment, segments);
+        }
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public boolean isPath(int x, int y) {
+        MappedByteBuffer segment = segments[y / rowsPerSegment];
+        int index = (y % rowsPerSegment) * rowSize + x / Byte.SIZE;
+        return (segment.get(index) & (1 << (x % Byte.SIZE))) != 0;
+    }
+}
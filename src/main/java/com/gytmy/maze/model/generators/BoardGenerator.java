@@ -1,5 +1,11 @@
 package com.gytmy.maze.model.generators;
 
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
+
 /**
  * Interface for board generators. Used to generate a board for the maze.
  * It is part of a Strategy pattern.
@@ -12,4 +18,34 @@ public interface BoardGenerator {
      * @return a 2-dimensional array of booleans representing the board.
      */
     public boolean[][] generate();
+
+    /**
+     * Generates a packed, read-only board for the maze. Generators able to
+     * write directly into a packed board should override this method to avoid
+     * the intermediate array.
+     * 
+     * @return the generated board or null if {@link #generate()} returned null
+     */
+    public default Board generateBoard() {
+        boolean[][] board = generate();
+        if (board == null) {
+            return null;
+        }
+        return BitPackedBoard.fromArray(board);
+    }
+
+    /**
+     * Generates a packed board like {@link #generateBoard()}, but gives up as
+     * soon as the generation is cancelled. The generators of large mazes poll
+     * the given check every few thousand cells; the others only generate the
+     * board.
+     * 
+     * @param isCancelled tells whether the generation was cancelled
+     * @return the generated board
+     * @throws CancellationException if the generation was cancelled before
+     *                               the board was complete
+     */
+    public default Board generateBoard(BooleanSupplier isCancelled) {
+        return generateBoard();
+    }
 }
@@ -1,11 +1,12 @@
 package com.gytmy.maze.model.generators;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.Stack;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
-import com.gytmy.utils.Boolean2DArraysOperations;
+import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
 import com.gytmy.utils.Coordinates;
 
 /**
@@ -13,23 +14,36 @@ import com.gytmy.utils.Coordinates;
  * rows and columns. If the maze has an even number of rows and columns, the
  * maze will be generated with up to 2 extra rows and columns.
  * 
+ * The generation does not allocate anything but the output board: a cell of
+ * the carving grid is encoded as a single int ({@code y * width + x}) and the
+ * cells left to explore are kept in a primitive int stack. A cell is visited
+ * as soon as it is carved in the board, so no extra visited array is needed.
+ * 
  * @see <a href=
  *      "https://en.wikipedia.org/wiki/Maze_generation_algorithm#Randomized_depth-first_search">Wikipedia</a>
  */
 public class DepthFirstGenerator implements BoardGenerator {
 
     private static final Coordinates DEFAULT_INITIAL_CELL = new Coordinates(1, 1);
+    // Number of steps of the search between two polls of the cancellation
+    private static final int CANCELLATION_POLL_INTERVAL = 1 << 14;
 
-    private Random rand = new Random();
+    // Null to generate a different maze each time
+    private Long seed;
+    private SplittableRandom rand;
 
     private int width;
     private int height;
     private Coordinates start;
 
-    private Stack<Coordinates> stack = new Stack<>();
-    private boolean[][] board;
-    private boolean[][] visited;
-    private Coordinates current;
+    // Offsets of the carving grid inside the bordered board
+    private int offsetX;
+    private int offsetY;
+
+    private int[] stack;
+    private int stackSize;
+    private final int[] neighbors = new int[Direction.values().length];
+    private BitPackedBoard.Builder board;
 
     public DepthFirstGenerator(int width, int height) {
         initArguments(width, height, null);
@@ -39,6 +53,18 @@ public class DepthFirstGenerator implements BoardGenerator {
         initArguments(width, height, start);
     }
 
+    /**
+     * @param width
+     * @param height
+     * @param start  the start cell or null for the default one
+     * @param seed   the seed of the random generator, the same maze is
+     *               generated at each call with the same seed
+     */
+    public DepthFirstGenerator(int width, int height, Coordinates start, long seed) {
+        initArguments(width, height, start);
+        this.seed = seed;
+    }
+
     private void initArguments(int width, int height, Coordinates start) {
         handleInvalidArguments(width, height);
         // -1 because we want to have a border around the maze
@@ -82,144 +108,103 @@ public class DepthFirstGenerator implements BoardGenerator {
 
     @Override
     public boolean[][] generate() {
-        board = new boolean[height][width];
-        generateBoard();
-        return getBorderedBoard();
+        return generateBoard().toArray();
     }
 
-    private boolean[][] generateBoard() {
-        initializeVariables();
+    @Override
+    public Board generateBoard() {
+        return generateBoard(() -> false);
+    }
 
-        while (!stack.isEmpty()) {
-            current = stack.pop();
-            Coordinates neighbor = getRandomNotVisitedNeighbor();
-            if (neighbor == null) {
-                // no neighbor found, go back to the previous cell
-                continue;
-            }
-            updateVariables(neighbor);
+    @Override
+    public Board generateBoard(BooleanSupplier isCancelled) {
+        if (isCancelled == null) {
+            throw new IllegalArgumentException("The cancellation check cannot be null");
         }
-
-        return board;
+        initializeVariables();
+        carveMaze(isCancelled);
+        return board.build();
     }
 
     /**
-     * Initialize the variables to start the generation
+     * Initialize the variables to start the generation.
+     * 
+     * The carved cells all have the parity of the start cell. Depending on
+     * this parity, either the first or the last row (resp. column) of the
+     * carving grid stays empty, so exactly one border row (resp. column) is
+     * added to get a maze surrounded by walls.
      */
     private void initializeVariables() {
-        board[start.getY()][start.getX()] = true;
-        visited = new boolean[height][width];
-        visited[start.getY()][start.getX()] = true;
-        stack.push(start);
-        current = start;
-    }
+        rand = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+        offsetX = start.getX() % 2 == 0 ? 1 : 0;
+        offsetY = start.getY() % 2 == 0 ? 1 : 0;
+        board = new BitPackedBoard.Builder(width + 1, height + 1);
 
-    /**
-     * 
-     * @return a random neighbor of the current cell that has not been visited yet
-     *         or null if there is no such neighbor
-     */
-    private Coordinates getRandomNotVisitedNeighbor() {
-        Coordinates[] neighbors = getPossibleNeighbors();
-        List<Coordinates> validNeighbors = getValidNeighbors(neighbors);
+        stack = new int[(width / 2) * (height / 2)];
+        stackSize = 0;
 
-        if (validNeighbors.isEmpty()) {
-            return null;
-        } else {
-            // Random choice between the valid neighbors
-            return validNeighbors.get(rand.nextInt(validNeighbors.size()));
-        }
+        int startCell = start.getY() * width + start.getX();
+        carve(startCell);
+        push(startCell);
     }
 
-    /**
-     * 
-     * @return the 4 possible neighbors of the current cell
-     */
-    private Coordinates[] getPossibleNeighbors() {
-        Coordinates[] neighbors = new Coordinates[4];
-        neighbors[0] = new Coordinates(current.getX(), current.getY() - 2);
-        neighbors[1] = new Coordinates(current.getX() + 2, current.getY());
-        neighbors[2] = new Coordinates(current.getX(), current.getY() + 2);
-        neighbors[3] = new Coordinates(current.getX() - 2, current.getY());
-        return neighbors;
-    }
-
-    /**
-     * 
-     * @param neighbors the 4 possible neighbors of the current cell
-     * @return the neighbors that are not out of bounds and have not been visited
-     *         yet
-     */
-    private List<Coordinates> getValidNeighbors(Coordinates[] neighbors) {
-        List<Coordinates> validNeighbors = new ArrayList<>();
-        for (Coordinates v : neighbors) {
-            if (isValideNeighbor(v)) {
-                validNeighbors.add(v);
+    private void carveMaze(BooleanSupplier isCancelled) {
+        for (int step = 1; stackSize > 0; step++) {
+            if (step % CANCELLATION_POLL_INTERVAL == 0 && isCancelled.getAsBoolean()) {
+                throw new CancellationException("The generation of the maze was cancelled");
+            }
+            int current = stack[--stackSize];
+            int nbNeighbors = findNotVisitedNeighbors(current);
+            if (nbNeighbors == 0) {
+                // no neighbor found, go back to the previous cell
+                continue;
             }
+            // Random choice between the valid neighbors
+            int neighbor = neighbors[rand.nextInt(nbNeighbors)];
+            push(current);
+            carve((neighbor + current) / 2);
+            carve(neighbor);
+            push(neighbor);
         }
-        return validNeighbors;
-    }
-
-    private boolean isValideNeighbor(Coordinates v) {
-        return !isOutOfBounds(v) && !isVisited(v);
-    }
-
-    private boolean isOutOfBounds(Coordinates v) {
-        return v.getX() < 0 || v.getX() >= width || v.getY() < 0 || v.getY() >= height;
-    }
-
-    private boolean isVisited(Coordinates v) {
-        return board[v.getY()][v.getX()];
     }
 
     /**
-     * Update the variables to prepare the next iteration of the loop
+     * Stores the neighbors of the given cell that are inside the grid and have
+     * not been visited yet at the beginning of {@code neighbors}.
      * 
-     * @param neighbor the neighbor that has been chosen
+     * @param cell the encoded cell
+     * @return the number of neighbors found
      */
-    private void updateVariables(Coordinates neighbor) {
-        stack.push(current.copy());
-        board[neighbor.getY()][neighbor.getX()] = true;
-        // remove wall between current and neighbor
-        board[(neighbor.getY() + current.getY()) / 2][(neighbor.getX() + current.getX()) / 2] = true;
-        visited[neighbor.getY()][neighbor.getX()] = true;
-        stack.push(neighbor);
-    }
+    private int findNotVisitedNeighbors(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        int count = 0;
 
-    /**
-     * @return a copy of the board with a border around it
-     */
-    private boolean[][] getBorderedBoard() {
-        boolean[][] finalBoard = board;
-        if (!Boolean2DArraysOperations.isRowEmpty(finalBoard, 0)) {
-            finalBoard = addTopBorder(finalBoard);
+        if (y >= 2 && !isVisited(cell - 2 * width)) {
+            neighbors[count++] = cell - 2 * width;
         }
-        if (!Boolean2DArraysOperations.isRowEmpty(finalBoard, finalBoard.length - 1)) {
-            finalBoard = addBottomBorder(finalBoard);
+        if (x + 2 < width && !isVisited(cell + 2)) {
+            neighbors[count++] = cell + 2;
         }
-        if (!Boolean2DArraysOperations.isColumnEmpty(finalBoard, 0)) {
-            finalBoard = addLeftBorder(finalBoard);
+        if (y + 2 < height && !isVisited(cell + 2 * width)) {
+            neighbors[count++] = cell + 2 * width;
         }
-        if (!Boolean2DArraysOperations.isColumnEmpty(finalBoard, finalBoard[0].length - 1)) {
-            finalBoard = addRightBorder(finalBoard);
+        if (x >= 2 && !isVisited(cell - 2)) {
+            neighbors[count++] = cell - 2;
         }
-        return finalBoard;
-    }
-
-    private boolean[][] addTopBorder(boolean[][] finalBoard) {
-        return Boolean2DArraysOperations.addEmptyRow(finalBoard, 0);
+        return count;
     }
 
-    private boolean[][] addBottomBorder(boolean[][] finalBoard) {
-        return Boolean2DArraysOperations.addEmptyRow(finalBoard, finalBoard.length);
+    private boolean isVisited(int cell) {
+        return board.isPath(cell % width + offsetX, cell / width + offsetY);
     }
 
-    private boolean[][] addLeftBorder(boolean[][] finalBoard) {
-        return Boolean2DArraysOperations.addEmptyColumn(finalBoard, 0);
+    private void carve(int cell) {
+        board.setPath(cell % width + offsetX, cell / width + offsetY);
     }
 
-    private boolean[][] addRightBorder(boolean[][] finalBoard) {
-        return Boolean2DArraysOperations.addEmptyColumn(finalBoard, finalBoard[0].length);
+    private void push(int cell) {
+        stack[stackSize++] = cell;
     }
 
 }
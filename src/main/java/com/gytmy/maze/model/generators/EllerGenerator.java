@@ -0,0 +1,179 @@
+package com.gytmy.maze.model.generators;
+
+import java.util.Arrays;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.BoardFile;
+
+/**
+ * Generates a perfect maze row by row with Eller's algorithm. Only the sets of
+ * the cells of the current row are kept, so apart from the board the memory
+ * used is proportional to the width of the maze. The rows of the board are
+ * produced from top to bottom, which allows to stream them directly to a file
+ * (see {@link RowGenerator}).
+ * 
+ * For each row, adjacent cells of different sets are randomly joined, then at
+ * least one cell of each set is randomly extended to the next row. The cells
+ * of the next row that were not reached get a new set. The last row joins all
+ * its adjacent cells of different sets.
+ * 
+ * The sets are labels between 0 and {@code nbCols - 1}, merged with a
+ * union-find that is reset for each row.
+ * 
+ * @see <a href="http://www.neocomputer.org/projects/eller.html">Eller's
+ *      algorithm</a>
+ */
+public class EllerGenerator extends GridGenerator implements RowGenerator {
+
+    // Indexed by column
+    private int[] sets;
+    private boolean[] extended;
+
+    // Indexed by set
+    private int[] parents;
+    private int[] setSizes;
+    private int[] downCells;
+    private boolean[] hasDown;
+    private boolean[] usedLabels;
+
+    // Rows of the board, in the format of BoardFile
+    private byte[] cellRow;
+    private byte[] passageRow;
+
+    public EllerGenerator(int width, int height) {
+        super(width, height);
+    }
+
+    public EllerGenerator(int width, int height, long seed) {
+        super(width, height, seed);
+    }
+
+    @Override
+    protected void carveMaze() {
+        BitPackedBoard.Builder board = getBoard();
+        generateRows((y, row) -> {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (BoardFile.isPath(row, x)) {
+                    board.setPath(x, y);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void generateRows(RowWriter writer) {
+        resetRandom();
+        initializeSets();
+        // The top border
+        writer.writeRow(0, passageRow);
+        for (int row = 0; row < nbRows; row++) {
+            checkCancelled();
+            boolean isLastRow = row == nbRows - 1;
+            joinRow(isLastRow);
+            if (!isLastRow) {
+                extendDown();
+                computeNextSets();
+            }
+            writer.writeRow(2 * row + 1, cellRow);
+            // The passages to the next row, or the bottom border
+            writer.writeRow(2 * row + 2, passageRow);
+            Arrays.fill(cellRow, (byte) 0);
+            Arrays.fill(passageRow, (byte) 0);
+        }
+    }
+
+    private void initializeSets() {
+        sets = new int[nbCols];
+        extended = new boolean[nbCols];
+        parents = new int[nbCols];
+        setSizes = new int[nbCols];
+        downCells = new int[nbCols];
+        hasDown = new boolean[nbCols];
+        usedLabels = new boolean[nbCols];
+        cellRow = new byte[BoardFile.getRowSize(getBoardWidth())];
+        passageRow = new byte[cellRow.length];
+        for (int col = 0; col < nbCols; col++) {
+            sets[col] = col;
+            parents[col] = col;
+        }
+    }
+
+    /**
+     * Carves the cells of the row and joins randomly (or always, for the last
+     * row) the adjacent cells of different sets.
+     */
+    private void joinRow(boolean isLastRow) {
+        BoardFile.setPath(cellRow, 1);
+        for (int col = 1; col < nbCols; col++) {
+            BoardFile.setPath(cellRow, 2 * col + 1);
+            int left = find(sets[col - 1]);
+            int right = find(sets[col]);
+            if (left != right && (isLastRow || rand.nextBoolean())) {
+                parents[right] = left;
+                BoardFile.setPath(cellRow, 2 * col);
+            }
+        }
+    }
+
+    /**
+     * Extends randomly the cells of the row to the next row. A set that has
+     * no extended cell gets one chosen uniformly among its cells.
+     */
+    private void extendDown() {
+        Arrays.fill(setSizes, 0);
+        Arrays.fill(hasDown, false);
+        for (int col = 0; col < nbCols; col++) {
+            int set = find(sets[col]);
+            sets[col] = set;
+            setSizes[set]++;
+            // Reservoir sampling of the cell extended if none is
+            if (rand.nextInt(setSizes[set]) == 0) {
+                downCells[set] = col;
+            }
+            extended[col] = rand.nextBoolean();
+            hasDown[set] |= extended[col];
+        }
+
+        for (int col = 0; col < nbCols; col++) {
+            int set = sets[col];
+            extended[col] |= !hasDown[set] && downCells[set] == col;
+            if (extended[col]) {
+                BoardFile.setPath(passageRow, 2 * col + 1);
+            }
+        }
+    }
+
+    /**
+     * The extended cells keep their set, the others get one of the unused
+     * labels. The union-find is reset for the next row.
+     */
+    private void computeNextSets() {
+        Arrays.fill(usedLabels, false);
+        for (int col = 0; col < nbCols; col++) {
+            parents[col] = col;
+            if (extended[col]) {
+                usedLabels[sets[col]] = true;
+            }
+        }
+
+        int freeLabel = 0;
+        for (int col = 0; col < nbCols; col++) {
+            if (extended[col]) {
+                continue;
+            }
+            while (usedLabels[freeLabel]) {
+                freeLabel++;
+            }
+            sets[col] = freeLabel;
+            usedLabels[freeLabel] = true;
+        }
+    }
+
+    private int find(int set) {
+        while (parents[set] != set) {
+            parents[set] = parents[parents[set]];
+            set = parents[set];
+        }
+        return set;
+    }
+}
@@ -0,0 +1,15 @@
+package com.gytmy.maze.model.generators;
+
+/**
+ * This enum represents the algorithms available to generate a perfect maze.
+ * The generator of a type is created by the {@code MazeModelFactory}.
+ * 
+ * @see com.gytmy.maze.model.MazeModelFactory#createBoardGenerator(GeneratorType,
+ *      int, int)
+ */
+public enum GeneratorType {
+    DEPTH_FIRST,
+    ELLER,
+    KRUSKAL,
+    WILSON
+}
@@ -0,0 +1,155 @@
+package com.gytmy.maze.model.generators;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
+
+/**
+ * Base class of the generators carving a perfect maze in a grid of cells.
+ * 
+ * The cells of the grid are at the odd coordinates of the board and the walls
+ * between them at the even ones, so a grid of {@code nbCols x nbRows} cells
+ * gives a board of {@code (2 * nbCols + 1) x (2 * nbRows + 1)}. Like in the
+ * {@code DepthFirstGenerator}, an even width or height is increased by one.
+ * 
+ * The cells are identified by their index {@code row * nbCols + col}.
+ */
+public abstract class GridGenerator implements BoardGenerator {
+
+    // Number of cells carved between two polls of the cancellation check
+    protected static final int CANCELLATION_POLL_INTERVAL = 1 << 14;
+
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+    protected SplittableRandom rand;
+    // Null to generate a different maze each time
+    private Long seed;
+
+    protected final int nbCols;
+    protected final int nbRows;
+
+    private BitPackedBoard.Builder board;
+    private BooleanSupplier isCancelled = NEVER_CANCELLED;
+
+    protected GridGenerator(int width, int height) {
+        this(width, height, null);
+    }
+
+    /**
+     * @param width
+     * @param height
+     * @param seed   the seed of the random generator, the same maze is
+     *               generated at each call with the same seed
+     */
+    protected GridGenerator(int width, int height, long seed) {
+        this(width, height, Long.valueOf(seed));
+    }
+
+    /**
+     * @param width
+     * @param height
+     * @param seed   the seed of the random generator; null to generate a
+     *               different maze each time
+     */
+    protected GridGenerator(int width, int height, Long seed) {
+        handleInvalidArguments(width, height);
+        this.nbCols = width / 2;
+        this.nbRows = height / 2;
+        this.seed = seed;
+    }
+
+    /**
+     * Resets the random generator before a new maze, from the seed if there
+     * is one.
+     */
+    protected void resetRandom() {
+        rand = seed == null ? new SplittableRandom() : new SplittableRandom(seed);
+    }
+
+    private void handleInvalidArguments(int width, int height) {
+        if (width < 5) {
+            throw new IllegalArgumentException("The width must be at least 5");
+        }
+        if (height < 5) {
+            throw new IllegalArgumentException("The height must be at least 5");
+        }
+    }
+
+    public int getBoardWidth() {
+        return 2 * nbCols + 1;
+    }
+
+    public int getBoardHeight() {
+        return 2 * nbRows + 1;
+    }
+
+    @Override
+    public boolean[][] generate() {
+        return generateBoard().toArray();
+    }
+
+    @Override
+    public Board generateBoard() {
+        return generateBoard(NEVER_CANCELLED);
+    }
+
+    @Override
+    public Board generateBoard(BooleanSupplier isCancelled) {
+        if (isCancelled == null) {
+            throw new IllegalArgumentException("The cancellation check cannot be null");
+        }
+        this.isCancelled = isCancelled;
+        board = new BitPackedBoard.Builder(getBoardWidth(), getBoardHeight());
+        try {
+            resetRandom();
+            carveMaze();
+            return board.build();
+        } finally {
+            board = null;
+            this.isCancelled = NEVER_CANCELLED;
+        }
+    }
+
+    /**
+     * Called by {@link #carveMaze()} every row or every
+     * {@code CANCELLATION_POLL_INTERVAL} cells or so.
+     * 
+     * @throws CancellationException if the generation was cancelled
+     */
+    protected void checkCancelled() {
+        if (isCancelled.getAsBoolean()) {
+            throw new CancellationException("The generation of the maze was cancelled");
+        }
+    }
+
+    /**
+     * Carves the maze in the board, using {@link #carveCell(int)} and
+     * {@link #carvePassage(int, int)}, and calling {@link #checkCancelled()}
+     * regularly.
+     */
+    protected abstract void carveMaze();
+
+    protected BitPackedBoard.Builder getBoard() {
+        return board;
+    }
+
+    protected void carveCell(int cell) {
+        board.setPath(2 * (cell % nbCols) + 1, 2 * (cell / nbCols) + 1);
+    }
+
+    protected boolean isCarved(int cell) {
+        return board.isPath(2 * (cell % nbCols) + 1, 2 * (cell / nbCols) + 1);
+    }
+
+    /**
+     * Carves the wall between two adjacent cells.
+     */
+    protected void carvePassage(int cell, int neighbor) {
+        int x = cell % nbCols + neighbor % nbCols + 1;
+        int y = cell / nbCols + neighbor / nbCols + 1;
+        board.setPath(x, y);
+    }
+}
@@ -0,0 +1,109 @@
+package com.gytmy.maze.model.generators;
+
+/**
+ * Generates a perfect maze with the randomized Kruskal's algorithm: the walls
+ * between the cells are visited in a random order and a wall is carved when
+ * the two cells it separates are not connected yet.
+ * 
+ * The walls are encoded as ints in a single array and the connected cells are
+ * tracked by a primitive union-find (path halving and union by size).
+ * 
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Maze_generation_algorithm#Iterative_randomized_Kruskal's_algorithm_(with_sets)">Wikipedia</a>
+ */
+public class KruskalGenerator extends GridGenerator {
+
+    private int[] parents;
+    private int[] sizes;
+
+    public KruskalGenerator(int width, int height) {
+        super(width, height);
+    }
+
+    public KruskalGenerator(int width, int height, long seed) {
+        super(width, height, seed);
+    }
+
+    @Override
+    protected void carveMaze() {
+        int nbCells = nbCols * nbRows;
+        parents = new int[nbCells];
+        sizes = new int[nbCells];
+        for (int cell = 0; cell < nbCells; cell++) {
+            parents[cell] = cell;
+            sizes[cell] = 1;
+            carveCell(cell);
+        }
+
+        int[] walls = createShuffledWalls();
+        int nbHorizontalWalls = (nbCols - 1) * nbRows;
+        for (int i = 0; i < walls.length; i++) {
+            if (i % CANCELLATION_POLL_INTERVAL == 0) {
+                checkCancelled();
+            }
+            int wall = walls[i];
+            int cell;
+            int neighbor;
+            if (wall < nbHorizontalWalls) {
+                cell = wall / (nbCols - 1) * nbCols + wall % (nbCols - 1);
+                neighbor = cell + 1;
+            } else {
+                cell = wall - nbHorizontalWalls;
+                neighbor = cell + nbCols;
+            }
+            if (union(cell, neighbor)) {
+                carvePassage(cell, neighbor);
+            }
+        }
+        parents = null;
+        sizes = null;
+    }
+
+    /**
+     * The walls between horizontal neighbors come first, indexed like the
+     * cells of a grid of {@code (nbCols - 1) x nbRows}, followed by the walls
+     * between vertical neighbors, indexed by their upper cell.
+     * 
+     * @return every wall, shuffled with the Fisher-Yates algorithm
+     */
+    private int[] createShuffledWalls() {
+        int[] walls = new int[(nbCols - 1) * nbRows + nbCols * (nbRows - 1)];
+        for (int i = 0; i < walls.length; i++) {
+            walls[i] = i;
+        }
+        for (int i = walls.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int wall = walls[i];
+            walls[i] = walls[j];
+            walls[j] = wall;
+        }
+        return walls;
+    }
+
+    private int find(int cell) {
+        while (parents[cell] != cell) {
+            parents[cell] = parents[parents[cell]];
+            cell = parents[cell];
+        }
+        return cell;
+    }
+
+    /**
+     * @return true if the cells were in different sets; false otherwise
+     */
+    private boolean union(int cell, int other) {
+        int root = find(cell);
+        int otherRoot = find(other);
+        if (root == otherRoot) {
+            return false;
+        }
+        if (sizes[root] < sizes[otherRoot]) {
+            int swap = root;
+            root = otherRoot;
+            otherRoot = swap;
+        }
+        parents[otherRoot] = root;
+        sizes[root] += sizes[otherRoot];
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.gytmy.maze.model.generators;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import com.gytmy.maze.model.board.BoardFile;
+
+/**
+ * Generators able to produce the board row by row, from top to bottom, with a
+ * memory proportional to the width of the board. They can generate boards
+ * that do not fit in memory directly into a {@link BoardFile}.
+ */
+public interface RowGenerator extends BoardGenerator {
+
+    int getBoardWidth();
+
+    int getBoardHeight();
+
+    /**
+     * Generates a new board and gives its rows to the writer, from top to
+     * bottom.
+     * 
+     * @param writer receives the rows, in the format of
+     *               {@link BoardFile}; a row is only valid during the call
+     */
+    void generateRows(RowWriter writer);
+
+    /**
+     * Generates a new board directly into a {@link BoardFile}.
+     * 
+     * @param path the path of the file, overwritten if it exists
+     * @throws IOException if the file cannot be written
+     */
+    default void generateToFile(Path path) throws IOException {
+        try (BoardFile.Writer fileWriter = BoardFile.createWriter(path, getBoardWidth(), getBoardHeight())) {
+            generateRows((y, row) -> {
+                try {
+                    fileWriter.writeRow(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    interface RowWriter {
+        void writeRow(int y, byte[] row);
+    }
+}
@@ -0,0 +1,187 @@
+package com.gytmy.maze.model.generators;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+
+/**
+ * Generates large perfect mazes on several cores. The carving grid of the
+ * maze (the cells at odd coordinates) is split into tiles of about
+ * {@code TILE_SIZE} cells per side. The maze of each tile is generated
+ * concurrently by a {@code DepthFirstGenerator} on a {@code ForkJoinPool}.
+ * 
+ * Each tile is a perfect maze, so the whole board is a perfect maze as soon as
+ * the tiles are themselves linked by a spanning tree: every tile but the first
+ * one opens exactly one passage towards its left or its upper neighbor.
+ * 
+ * Like the {@code DepthFirstGenerator}, the maze has an odd number of rows and
+ * columns and the carved cells are at odd coordinates.
+ */
+public class TiledDepthFirstGenerator extends GridGenerator {
+
+    // Number of cells of the carving grid per side of a tile
+    public static final int TILE_SIZE = 128;
+
+    private final ForkJoinPool pool;
+
+    // Bounds of the tiles in the carving grid, tile i spans [bounds[i],
+    // bounds[i + 1])
+    private int[] colBounds;
+    private int[] rowBounds;
+
+    private long[] tileSeeds;
+
+    public TiledDepthFirstGenerator(int width, int height) {
+        this(width, height, ForkJoinPool.commonPool());
+    }
+
+    public TiledDepthFirstGenerator(int width, int height, ForkJoinPool pool) {
+        this(width, height, (Long) null, pool);
+    }
+
+    public TiledDepthFirstGenerator(int width, int height, long seed) {
+        this(width, height, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * The seeds of the tiles are drawn from the given seed before the tiles
+     * are generated, so the maze does not depend on the scheduling of the
+     * tiles nor on the pool.
+     */
+    public TiledDepthFirstGenerator(int width, int height, long seed, ForkJoinPool pool) {
+        this(width, height, Long.valueOf(seed), pool);
+    }
+
+    private TiledDepthFirstGenerator(int width, int height, Long seed, ForkJoinPool pool) {
+        super(width, height, seed);
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool cannot be null");
+        }
+        this.pool = pool;
+        this.colBounds = computeTileBounds(nbCols);
+        this.rowBounds = computeTileBounds(nbRows);
+    }
+
+    /**
+     * Splits the cells of a dimension into tiles of at least
+     * {@code TILE_SIZE} cells, or a single tile if there are fewer cells.
+     */
+    private static int[] computeTileBounds(int nbCells) {
+        int nbTiles = Math.max(1, nbCells / TILE_SIZE);
+        int[] bounds = new int[nbTiles + 1];
+        for (int tile = 0; tile <= nbTiles; tile++) {
+            bounds[tile] = (int) ((long) tile * nbCells / nbTiles);
+        }
+        return bounds;
+    }
+
+    @Override
+    protected void carveMaze() {
+        int nbTileCols = colBounds.length - 1;
+        int nbTileRows = rowBounds.length - 1;
+        BitPackedBoard[] tiles = new BitPackedBoard[nbTileCols * nbTileRows];
+        tileSeeds = new long[tiles.length];
+        for (int tile = 0; tile < tiles.length; tile++) {
+            tileSeeds[tile] = rand.nextLong();
+        }
+        pool.invoke(new ParallelRange(0, tiles.length, tile -> tiles[tile] = generateTile(tile)));
+
+        BitPackedBoard.Builder board = getBoard();
+        IntConsumer copyTileRow = tileRow -> {
+            for (int tileCol = 0; tileCol < nbTileCols; tileCol++) {
+                copyTile(board, tiles[tileRow * nbTileCols + tileCol], tileCol, tileRow);
+            }
+        };
+        if (board.getWidth() >= Long.SIZE) {
+            // The tile rows write disjoint rows of the board, separated by a
+            // border row which is not written: with at least 64 cells per
+            // row, no word is shared by two tile rows
+            pool.invoke(new ParallelRange(0, nbTileRows, copyTileRow));
+        } else {
+            for (int tileRow = 0; tileRow < nbTileRows; tileRow++) {
+                copyTileRow.accept(tileRow);
+            }
+        }
+        stitchTiles(board);
+    }
+
+    /**
+     * Runs an action for each index of a range, splitting it in halves until a
+     * single index is left.
+     */
+    private static class ParallelRange extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        ParallelRange(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) / 2;
+            invokeAll(new ParallelRange(from, middle, action), new ParallelRange(middle, to, action));
+        }
+    }
+
+    /**
+     * A tile has about {@code CANCELLATION_POLL_INTERVAL} cells, so the
+     * cancellation is checked before each one.
+     */
+    private BitPackedBoard generateTile(int tile) {
+        checkCancelled();
+        int tileCol = tile % (colBounds.length - 1);
+        int tileRow = tile / (colBounds.length - 1);
+        int tileWidth = 2 * (colBounds[tileCol + 1] - colBounds[tileCol]) + 1;
+        int tileHeight = 2 * (rowBounds[tileRow + 1] - rowBounds[tileRow]) + 1;
+        return BitPackedBoard.copyOf(new DepthFirstGenerator(tileWidth, tileHeight, null, tileSeeds[tile])
+                .generateBoard());
+    }
+
+    /**
+     * Copies the paths of a tile in the board, 64 cells at a time. A tile is a
+     * bordered maze whose border overlaps the border of its neighbors, so
+     * only its inner rows are copied.
+     */
+    private void copyTile(BitPackedBoard.Builder board, BitPackedBoard tile, int tileCol, int tileRow) {
+        int offsetX = 2 * colBounds[tileCol];
+        int offsetY = 2 * rowBounds[tileRow];
+        for (int y = 1; y < tile.getHeight() - 1; y++) {
+            board.setPaths(offsetX + 1, offsetY + y, tile, 1, y, tile.getWidth() - 2);
+        }
+    }
+
+    /**
+     * Links every tile but the first one to its left or upper neighbor,
+     * through a random cell of their shared border.
+     */
+    private void stitchTiles(BitPackedBoard.Builder board) {
+        for (int tileRow = 0; tileRow < rowBounds.length - 1; tileRow++) {
+            for (int tileCol = 0; tileCol < colBounds.length - 1; tileCol++) {
+                boolean canGoLeft = tileCol > 0;
+                boolean canGoUp = tileRow > 0;
+                if (canGoLeft && (!canGoUp || rand.nextBoolean())) {
+                    int row = randomBetween(rowBounds[tileRow], rowBounds[tileRow + 1]);
+                    board.setPath(2 * colBounds[tileCol], 2 * row + 1);
+                } else if (canGoUp) {
+                    int col = randomBetween(colBounds[tileCol], colBounds[tileCol + 1]);
+                    board.setPath(2 * col + 1, 2 * rowBounds[tileRow]);
+                }
+            }
+        }
+    }
+
+    private int randomBetween(int lower, int upper) {
+        return lower + rand.nextInt(upper - lower);
+    }
+}
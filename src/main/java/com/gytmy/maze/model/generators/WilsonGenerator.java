@@ -0,0 +1,106 @@
+package com.gytmy.maze.model.generators;
+
+/**
+ * Generates a uniform spanning tree of the grid with Wilson's algorithm: from
+ * every cell not in the maze yet, a random walk is done until it reaches the
+ * maze, and the loop-erased path of the walk is added to the maze. Every
+ * perfect maze has the same probability to be generated.
+ * 
+ * A walk only remembers the last direction taken from each cell, which erases
+ * its loops implicitly. The cells in the maze are the carved cells of the
+ * board.
+ * 
+ * @see <a href=
+ *      "https://en.wikipedia.org/wiki/Maze_generation_algorithm#Wilson's_algorithm">Wikipedia</a>
+ */
+public class WilsonGenerator extends GridGenerator {
+
+    private static final byte UP = 0;
+    private static final byte RIGHT = 1;
+    private static final byte DOWN = 2;
+    private static final byte LEFT = 3;
+    private static final int NB_DIRECTIONS = 4;
+
+    private byte[] directions;
+
+    public WilsonGenerator(int width, int height) {
+        super(width, height);
+    }
+
+    public WilsonGenerator(int width, int height, long seed) {
+        super(width, height, seed);
+    }
+
+    @Override
+    protected void carveMaze() {
+        int nbCells = nbCols * nbRows;
+        directions = new byte[nbCells];
+        carveCell(rand.nextInt(nbCells));
+
+        for (int cell = 0; cell < nbCells; cell++) {
+            if (cell % CANCELLATION_POLL_INTERVAL == 0) {
+                checkCancelled();
+            }
+            if (!isCarved(cell)) {
+                walk(cell);
+                carveWalk(cell);
+            }
+        }
+        directions = null;
+    }
+
+    /**
+     * Walks randomly from the given cell until a carved cell is reached. The
+     * first walks may cross most of the grid, so they check the cancellation
+     * on the way.
+     */
+    private void walk(int start) {
+        int current = start;
+        for (int step = 1; !isCarved(current); step++) {
+            if (step % CANCELLATION_POLL_INTERVAL == 0) {
+                checkCancelled();
+            }
+            int next = -1;
+            while (next < 0) {
+                directions[current] = (byte) rand.nextInt(NB_DIRECTIONS);
+                next = getNeighbor(current, directions[current]);
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Follows the last direction taken from each cell of the walk, which
+     * skips the loops, and carves the path.
+     */
+    private void carveWalk(int start) {
+        int current = start;
+        while (!isCarved(current)) {
+            int next = getNeighbor(current, directions[current]);
+            carveCell(current);
+            carvePassage(current, next);
+            current = next;
+        }
+    }
+
+    /**
+     * @return the neighbor of the cell in the given direction or -1 if it is
+     *         outside the grid
+     */
+    private int getNeighbor(int cell, byte direction) {
+        int col = cell % nbCols;
+        int row = cell / nbCols;
+        switch (direction) {
+            case UP:
+                return row > 0 ? cell - nbCols : -1;
+            case RIGHT:
+                return col < nbCols - 1 ? cell + 1 : -1;
+            case DOWN:
+                return row < nbRows - 1 ? cell + nbCols : -1;
+            case LEFT:
+                return col > 0 ? cell - 1 : -1;
+            default:
+                throw new IllegalArgumentException("Unknown direction");
+        }
+    }
+}
@@ -14,8 +14,20 @@ public interface Player {
 
     public int getY();
 
+    /**
+     * @return a copy of the coordinates of the player
+     */
     public Coordinates getCoordinates();
 
+    /**
+     * Compares the position of the player without copying its coordinates.
+     * 
+     * @param x
+     * @param y
+     * @return true if the player is on the given cell
+     */
+    public boolean isAt(int x, int y);
+
     public String getName();
 
     public Color getColor();
@@ -30,13 +42,7 @@ public interface Player {
 
     public void setCoordinates(Coordinates coordinates);
 
-    public static void initAllPlayersCoordinates(Coordinates initialCell, Player... players) {
-
-        for (Player player : players) {
-            player.setCoordinates(initialCell);
-        }
-
-    }
+    public void setCoordinates(int x, int y);
 
     public void setName(String name);
 
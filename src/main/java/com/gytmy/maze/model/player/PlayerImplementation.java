@@ -5,9 +5,14 @@ import java.awt.Color;
 import com.gytmy.maze.model.Direction;
 import com.gytmy.utils.Coordinates;
 
+/**
+ * The coordinates of the player are stored as two ints, so that moving the
+ * player or comparing its position allocates nothing.
+ */
 public class PlayerImplementation implements Player {
 
-    private Coordinates coordinates;
+    private int x;
+    private int y;
     private String name;
     private Color color;
 
@@ -15,7 +20,7 @@ public class PlayerImplementation implements Player {
     private int timePassedInSeconds;
 
     public PlayerImplementation(Coordinates coordinates) {
-        this(coordinates.copy(),
+        this(coordinates,
                 Player.UNNAMED_PLAYER,
                 Player.UNINITIALIZED_COLOR);
     }
@@ -37,7 +42,8 @@ public class PlayerImplementation implements Player {
     }
 
     public PlayerImplementation(Coordinates coordinates, String name, Color color) {
-        this.coordinates = coordinates;
+        this.x = coordinates.getX();
+        this.y = coordinates.getY();
         this.name = name;
         this.color = color;
 
@@ -48,17 +54,22 @@ public class PlayerImplementation implements Player {
 
     @Override
     public int getX() {
-        return coordinates.getX();
+        return x;
     }
 
     @Override
     public int getY() {
-        return coordinates.getY();
+        return y;
     }
 
     @Override
     public Coordinates getCoordinates() {
-        return coordinates.copy();
+        return new Coordinates(x, y);
+    }
+
+    @Override
+    public boolean isAt(int x, int y) {
+        return this.x == x && this.y == y;
     }
 
     @Override
@@ -73,17 +84,23 @@ public class PlayerImplementation implements Player {
 
     @Override
     public void setX(int x) {
-        coordinates.setX(x);
+        this.x = x;
     }
 
     @Override
     public void setY(int y) {
-        coordinates.setY(y);
+        this.y = y;
     }
 
     @Override
     public void setCoordinates(Coordinates coordinates) {
-        this.coordinates = coordinates.copy();
+        setCoordinates(coordinates.getX(), coordinates.getY());
+    }
+
+    @Override
+    public void setCoordinates(int x, int y) {
+        this.x = x;
+        this.y = y;
     }
 
     @Override
@@ -134,7 +151,7 @@ public class PlayerImplementation implements Player {
 
     @Override
     public String toString() {
-        return "PlayerImplementation [coordinates=" + coordinates + ", name=" + name + ", color=" + color + "]";
+        return "PlayerImplementation [coordinates=" + getCoordinates() + ", name=" + name + ", color=" + color + "]";
     }
 
     @Override
@@ -0,0 +1,78 @@
+package com.gytmy.maze.model.simulation;
+
+/**
+ * The outcome of a simulated game: for each player, whether the exit was
+ * reached, the simulated time it took and the score, and for the game the
+ * number of commands played and the real time spent playing them.
+ */
+public class GameResult {
+
+    private final int minimumPathLength;
+    private final boolean[] exitReached;
+    private final int[] timesInSeconds;
+    private final int[] scores;
+    private final long nbCommands;
+    private final long playNanos;
+
+    GameResult(int minimumPathLength, boolean[] exitReached, int[] timesInSeconds, int[] scores, long nbCommands,
+            long playNanos) {
+        this.minimumPathLength = minimumPathLength;
+        this.exitReached = exitReached;
+        this.timesInSeconds = timesInSeconds;
+        this.scores = scores;
+        this.nbCommands = nbCommands;
+        this.playNanos = playNanos;
+    }
+
+    public int getMinimumPathLength() {
+        return minimumPathLength;
+    }
+
+    public int getNbPlayers() {
+        return scores.length;
+    }
+
+    public boolean isExitReached(int player) {
+        return exitReached[player];
+    }
+
+    /**
+     * @return true if all the players reached the exit
+     */
+    public boolean isCompleted() {
+        for (boolean reached : exitReached) {
+            if (!reached) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param player the index of the player
+     * @return the simulated time taken by the player, until the exit or until
+     *         the game was stopped
+     */
+    public int getTimeInSeconds(int player) {
+        return timesInSeconds[player];
+    }
+
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * @return the number of commands played, including the moves into walls
+     */
+    public long getNbCommands() {
+        return nbCommands;
+    }
+
+    /**
+     * @return the real time spent playing the game, without the creation of
+     *         its maze
+     */
+    public long getPlayNanos() {
+        return playNanos;
+    }
+}
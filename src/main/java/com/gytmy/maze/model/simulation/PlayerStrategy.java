@@ -0,0 +1,104 @@
+package com.gytmy.maze.model.simulation;
+
+import java.util.Random;
+
+import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.player.Player;
+
+/**
+ * Chooses the moves of a simulated player, in place of the keyboard or of the
+ * voice commands.
+ * 
+ * A strategy may keep a state, e.g. its position in a script, so a new one is
+ * created for each player of each game.
+ */
+@FunctionalInterface
+public interface PlayerStrategy {
+
+    /**
+     * @param model  the maze of the game
+     * @param player the player to move
+     * @param random the random generator of the game, so that a game can be
+     *               replayed from its seed
+     * @return the direction of the next move, which may go into a wall like an
+     *         actual command
+     */
+    Direction nextDirection(MazeModel model, Player player, Random random);
+
+    /**
+     * @return a strategy moving to a random neighbor which is not a wall
+     */
+    public static PlayerStrategy randomWalk() {
+        return (model, player, random) -> {
+            Direction[] directions = Direction.values();
+            int nbValidMoves = 0;
+            for (Direction direction : directions) {
+                nbValidMoves += model.isMoveValid(player, direction) ? 1 : 0;
+            }
+            if (nbValidMoves == 0) {
+                return directions[random.nextInt(directions.length)];
+            }
+            // Each valid move has the same probability
+            int chosenMove = random.nextInt(nbValidMoves);
+            for (Direction direction : directions) {
+                if (model.isMoveValid(player, direction) && chosenMove-- == 0) {
+                    return direction;
+                }
+            }
+            throw new IllegalStateException("The valid moves have changed");
+        };
+    }
+
+    /**
+     * @return a strategy following a shortest path to the exit, read from the
+     *         distances to the exit of the model
+     */
+    public static PlayerStrategy shortestPath() {
+        return (model, player, random) -> getDirectionToExit(model, player);
+    }
+
+    /**
+     * @param errorRate the probability of making a random move instead of
+     *                  following the shortest path, between 0 and 1
+     * @return a strategy following a shortest path to the exit with mistakes,
+     *         like a player misunderstood by the voice recognition
+     */
+    public static PlayerStrategy noisyShortestPath(double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("The error rate must be between 0 and 1");
+        }
+        return (model, player, random) -> {
+            if (random.nextDouble() < errorRate) {
+                Direction[] directions = Direction.values();
+                return directions[random.nextInt(directions.length)];
+            }
+            return getDirectionToExit(model, player);
+        };
+    }
+
+    /**
+     * @param script the moves played one after the other, in a loop
+     * @return a strategy replaying the given moves
+     */
+    public static PlayerStrategy scripted(Direction... script) {
+        if (script == null || script.length == 0) {
+            throw new IllegalArgumentException("The script cannot be empty");
+        }
+        Direction[] moves = script.clone();
+        int[] nextMove = { 0 };
+        return (model, player, random) -> moves[nextMove[0]++ % moves.length];
+    }
+
+    private static Direction getDirectionToExit(MazeModel model, Player player) {
+        int distance = model.getDistanceToExit(player.getX(), player.getY());
+        for (Direction direction : Direction.values()) {
+            int neighborDistance = model.getDistanceToExit(player.getX() + direction.getDeltaX(),
+                    player.getY() + direction.getDeltaY());
+            if (neighborDistance >= 0 && neighborDistance < distance) {
+                return direction;
+            }
+        }
+        throw new IllegalStateException("The player cannot reach the exit");
+    }
+}
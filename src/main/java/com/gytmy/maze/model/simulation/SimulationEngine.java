@@ -0,0 +1,311 @@
+package com.gytmy.maze.model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.MazeModelFactory;
+import com.gytmy.maze.model.MazeModelImplementation;
+import com.gytmy.maze.model.MazeSpecification;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.player.PlayerImplementation;
+import com.gytmy.maze.model.score.ScoreType;
+import com.gytmy.maze.model.score.SimpleScoreCalculator;
+import com.gytmy.maze.model.score.SimpleScoreCalculator.SimpleScoreCalculatorParameters;
+import com.gytmy.maze.model.score.SimpleScoreInfo;
+
+/**
+ * Plays games without any view nor controller, the moves of the players being
+ * chosen by a {@link PlayerStrategy}. It is used to load-test the model and to
+ * tune the parameters of the score calculators on thousands of games.
+ * 
+ * The games are played like by the {@code MazeController}: the players play
+ * one command each in turn, a player leaves the game when it reaches the exit
+ * and the time of a player is the time passed since the beginning of the game.
+ * The time is simulated, each command taking {@code secondsPerCommand}.
+ * 
+ * Each game has its own maze and random generator, both created from the seed
+ * of the game, so the games are run in parallel and a game can be replayed
+ * alone with {@link #playGame(long)}.
+ */
+public class SimulationEngine {
+
+    public static final GeneratorType DEFAULT_GENERATOR_TYPE = MazeModelFactory.DEFAULT_GENERATOR_TYPE;
+    public static final int DEFAULT_MAZE_SIZE = 21;
+    public static final int DEFAULT_NB_GAMES = 1000;
+    public static final int DEFAULT_MAX_COMMANDS_PER_PLAYER = 100_000;
+    // The ideal time of a voice command used by the voice score
+    public static final double DEFAULT_SECONDS_PER_COMMAND = 7;
+
+    private GeneratorType generatorType = DEFAULT_GENERATOR_TYPE;
+    private int width = DEFAULT_MAZE_SIZE;
+    private int height = DEFAULT_MAZE_SIZE;
+    private int nbPlayers = 1;
+    private Supplier<PlayerStrategy> strategySupplier = PlayerStrategy::randomWalk;
+    private int maxCommandsPerPlayer = DEFAULT_MAX_COMMANDS_PER_PLAYER;
+    private double secondsPerCommand = DEFAULT_SECONDS_PER_COMMAND;
+    private ScoreType scoreType = ScoreType.SIMPLE_VOICE;
+    private SimpleScoreCalculatorParameters scoreParameters;
+    private int nbGames = DEFAULT_NB_GAMES;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long seed;
+
+    public SimulationEngine setMaze(GeneratorType generatorType, int width, int height) {
+        if (generatorType == null) {
+            throw new IllegalArgumentException("The generator type cannot be null");
+        }
+        this.generatorType = generatorType;
+        this.width = width;
+        this.height = height;
+        return this;
+    }
+
+    public SimulationEngine setNbPlayers(int nbPlayers) {
+        if (nbPlayers <= 0) {
+            throw new IllegalArgumentException("There must be at least one player");
+        }
+        this.nbPlayers = nbPlayers;
+        return this;
+    }
+
+    /**
+     * @param strategySupplier called for each player of each game
+     * @return this engine
+     */
+    public SimulationEngine setStrategy(Supplier<PlayerStrategy> strategySupplier) {
+        if (strategySupplier == null) {
+            throw new IllegalArgumentException("The strategy cannot be null");
+        }
+        this.strategySupplier = strategySupplier;
+        return this;
+    }
+
+    /**
+     * @param maxCommandsPerPlayer the number of commands after which a player
+     *                             which has not reached the exit gives up
+     * @return this engine
+     */
+    public SimulationEngine setMaxCommandsPerPlayer(int maxCommandsPerPlayer) {
+        if (maxCommandsPerPlayer <= 0) {
+            throw new IllegalArgumentException("The maximum number of commands must be positive");
+        }
+        this.maxCommandsPerPlayer = maxCommandsPerPlayer;
+        return this;
+    }
+
+    public SimulationEngine setSecondsPerCommand(double secondsPerCommand) {
+        if (secondsPerCommand < 0) {
+            throw new IllegalArgumentException("The time of a command cannot be negative");
+        }
+        this.secondsPerCommand = secondsPerCommand;
+        return this;
+    }
+
+    public SimulationEngine setScoreType(ScoreType scoreType) {
+        if (scoreType == null) {
+            throw new IllegalArgumentException("The score type cannot be null");
+        }
+        this.scoreType = scoreType;
+        return this;
+    }
+
+    /**
+     * Scores the players with a {@link SimpleScoreCalculator} using the given
+     * parameters instead of the calculator of the score type, e.g. to tune
+     * them.
+     * 
+     * @param scoreParameters the parameters; null to use the score type again
+     * @return this engine
+     */
+    public SimulationEngine setScoreParameters(SimpleScoreCalculatorParameters scoreParameters) {
+        this.scoreParameters = scoreParameters;
+        return this;
+    }
+
+    public SimulationEngine setNbGames(int nbGames) {
+        if (nbGames < 0) {
+            throw new IllegalArgumentException("The number of games cannot be negative");
+        }
+        this.nbGames = nbGames;
+        return this;
+    }
+
+    /**
+     * @param parallelism the number of games played at the same time
+     * @return this engine
+     */
+    public SimulationEngine setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param seed the seed of the first game, the following games using the
+     *             next values
+     * @return this engine
+     */
+    public SimulationEngine setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Plays all the games on {@code parallelism} threads.
+     * 
+     * @return the report of the games
+     * @throws InterruptedException if the thread is interrupted while waiting
+     *                              for the games
+     */
+    public SimulationReport run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        long start = System.nanoTime();
+        try {
+            List<Future<GameResult>> games = new ArrayList<>(nbGames);
+            for (int game = 0; game < nbGames; game++) {
+                long gameSeed = seed + game;
+                games.add(executor.submit(() -> playGame(gameSeed)));
+            }
+            List<GameResult> results = new ArrayList<>(nbGames);
+            for (Future<GameResult> game : games) {
+                results.add(getResult(game));
+            }
+            return new SimulationReport(results, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static GameResult getResult(Future<GameResult> game) throws InterruptedException {
+        try {
+            return game.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("A simulated game failed", e.getCause());
+        }
+    }
+
+    /**
+     * Plays a single game on the calling thread.
+     * 
+     * @param gameSeed the seed of the maze and of the random generator
+     * @return the result of the game
+     */
+    public GameResult playGame(long gameSeed) {
+        Player[] players = new Player[nbPlayers];
+        PlayerStrategy[] strategies = new PlayerStrategy[nbPlayers];
+        for (int i = 0; i < nbPlayers; i++) {
+            players[i] = new PlayerImplementation();
+            strategies[i] = strategySupplier.get();
+        }
+        MazeSpecification specification = new MazeSpecification(generatorType, width, height, gameSeed);
+        MazeModel model = new MazeModelImplementation(
+                MazeModelFactory.createBoardGenerator(specification).generateBoard(), null, null, players, scoreType);
+        for (Player player : players) {
+            model.setPlayerCoordinates(player, model.getInitialCell().getX(), model.getInitialCell().getY());
+        }
+        // The distances to the exit are computed before the measure
+        int minimumPathLength = model.getMinimumPathLength();
+
+        Game game = new Game(model, strategies, new Random(gameSeed));
+        long start = System.nanoTime();
+        game.play();
+        long playNanos = System.nanoTime() - start;
+        return game.getResult(minimumPathLength, playNanos);
+    }
+
+    /**
+     * The state of a game being played.
+     */
+    private class Game {
+
+        private final MazeModel model;
+        private final Player[] players;
+        private final PlayerStrategy[] strategies;
+        private final Random random;
+
+        private final int[] commands;
+        private final boolean[] exitReached;
+        private long nbCommands;
+
+        private Game(MazeModel model, PlayerStrategy[] strategies, Random random) {
+            this.model = model;
+            this.players = model.getPlayers();
+            this.strategies = strategies;
+            this.random = random;
+            this.commands = new int[players.length];
+            this.exitReached = new boolean[players.length];
+        }
+
+        /**
+         * The players still in the game are kept at the beginning of
+         * {@code order}, in turn order.
+         */
+        private void play() {
+            int[] order = new int[players.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            int nbActive = order.length;
+            int current = 0;
+            while (nbActive > 0) {
+                int player = order[current];
+                if (playCommand(player)) {
+                    players[player].setTimePassedInSeconds(getTimePassedInSeconds());
+                    System.arraycopy(order, current + 1, order, current, nbActive - current - 1);
+                    nbActive--;
+                } else {
+                    current++;
+                }
+                if (current >= nbActive) {
+                    current = 0;
+                }
+            }
+        }
+
+        /**
+         * @return true if the player leaves the game after the command
+         */
+        private boolean playCommand(int player) {
+            Direction direction = strategies[player].nextDirection(model, players[player], random);
+            model.movePlayer(players[player], direction);
+            commands[player]++;
+            nbCommands++;
+            exitReached[player] = model.isPlayerAtExit(players[player]);
+            return exitReached[player] || commands[player] >= maxCommandsPerPlayer;
+        }
+
+        private int getTimePassedInSeconds() {
+            return (int) (nbCommands * secondsPerCommand);
+        }
+
+        private GameResult getResult(int minimumPathLength, long playNanos) {
+            int[] times = new int[players.length];
+            int[] scores = new int[players.length];
+            for (int i = 0; i < players.length; i++) {
+                times[i] = players[i].getTimePassedInSeconds();
+                scores[i] = getScore(players[i]);
+            }
+            return new GameResult(minimumPathLength, exitReached, times, scores, nbCommands, playNanos);
+        }
+
+        private int getScore(Player player) {
+            if (scoreParameters == null) {
+                return model.getScore(player);
+            }
+            return new SimpleScoreCalculator(new SimpleScoreInfo(model, player), scoreParameters).getScore();
+        }
+    }
+}
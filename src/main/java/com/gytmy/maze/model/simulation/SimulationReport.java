@@ -0,0 +1,196 @@
+package com.gytmy.maze.model.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.gytmy.maze.model.score.SimpleScoreCalculator;
+
+/**
+ * Statistics of the games played by a {@link SimulationEngine}: the
+ * throughput of the model, the completion times of the players and the
+ * distribution of their scores.
+ * 
+ * The completion times and the scores only count the players who reached the
+ * exit, the others having given up.
+ */
+public class SimulationReport {
+
+    public static final int SCORE_BUCKET_SIZE = 100;
+    public static final int NB_SCORE_BUCKETS = SimpleScoreCalculator.MAX_SCORE / SCORE_BUCKET_SIZE;
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double MEDIAN = 0.5;
+    private static final double LAST_DECILE = 0.9;
+
+    private final List<GameResult> results;
+    private final long wallNanos;
+    private final long nbCommands;
+    private final long playNanos;
+    private final int[] completionTimes;
+    private final int[] scores;
+
+    SimulationReport(List<GameResult> results, long wallNanos) {
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+        this.wallNanos = wallNanos;
+
+        long commandsSum = 0;
+        long nanosSum = 0;
+        int nbFinishers = 0;
+        for (GameResult result : results) {
+            commandsSum += result.getNbCommands();
+            nanosSum += result.getPlayNanos();
+            for (int player = 0; player < result.getNbPlayers(); player++) {
+                nbFinishers += result.isExitReached(player) ? 1 : 0;
+            }
+        }
+        this.nbCommands = commandsSum;
+        this.playNanos = nanosSum;
+        this.completionTimes = new int[nbFinishers];
+        this.scores = new int[nbFinishers];
+        collectFinishers();
+    }
+
+    private void collectFinishers() {
+        int index = 0;
+        for (GameResult result : results) {
+            for (int player = 0; player < result.getNbPlayers(); player++) {
+                if (result.isExitReached(player)) {
+                    completionTimes[index] = result.getTimeInSeconds(player);
+                    scores[index] = result.getScore(player);
+                    index++;
+                }
+            }
+        }
+        Arrays.sort(completionTimes);
+        Arrays.sort(scores);
+    }
+
+    public List<GameResult> getResults() {
+        return results;
+    }
+
+    public int getNbGames() {
+        return results.size();
+    }
+
+    /**
+     * @return the number of games where all the players reached the exit
+     */
+    public int getNbCompletedGames() {
+        int nbCompleted = 0;
+        for (GameResult result : results) {
+            if (result.isCompleted()) {
+                nbCompleted++;
+            }
+        }
+        return nbCompleted;
+    }
+
+    /**
+     * @return the number of players who reached the exit
+     */
+    public int getNbFinishers() {
+        return scores.length;
+    }
+
+    public long getNbCommands() {
+        return nbCommands;
+    }
+
+    /**
+     * @return the number of commands played per second by all the threads
+     *         together, the creation of the mazes included
+     */
+    public double getCommandsPerSecond() {
+        return wallNanos == 0 ? 0 : nbCommands * NANOS_PER_SECOND / wallNanos;
+    }
+
+    /**
+     * @return the number of commands played per second by a thread, without
+     *         the creation of the mazes
+     */
+    public double getCommandsPerSecondPerThread() {
+        return playNanos == 0 ? 0 : nbCommands * NANOS_PER_SECOND / playNanos;
+    }
+
+    public double getMeanCompletionTime() {
+        return getMean(completionTimes);
+    }
+
+    /**
+     * @param fraction between 0 and 1, e.g. 0.5 for the median
+     * @return the simulated time, in seconds, under which the given fraction
+     *         of the finishers reached the exit; -1 if nobody did
+     */
+    public int getCompletionTimePercentile(double fraction) {
+        return getPercentile(completionTimes, fraction);
+    }
+
+    public double getMeanScore() {
+        return getMean(scores);
+    }
+
+    public int getScorePercentile(double fraction) {
+        return getPercentile(scores, fraction);
+    }
+
+    /**
+     * @return the number of finishers per range of {@code SCORE_BUCKET_SIZE}
+     *         points, the maximum score being counted in the last range
+     */
+    public int[] getScoreHistogram() {
+        int[] histogram = new int[NB_SCORE_BUCKETS];
+        for (int score : scores) {
+            int bucket = Math.max(0, score) / SCORE_BUCKET_SIZE;
+            histogram[Math.min(bucket, NB_SCORE_BUCKETS - 1)]++;
+        }
+        return histogram;
+    }
+
+    private static double getMean(int[] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int value : values) {
+            sum += value;
+        }
+        return (double) sum / values.length;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    private static int getPercentile(int[] sortedValues, double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("The fraction must be between 0 and 1");
+        }
+        if (sortedValues.length == 0) {
+            return -1;
+        }
+        int rank = (int) Math.ceil(fraction * sortedValues.length);
+        return sortedValues[Math.max(0, rank - 1)];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Games: %d (%d completed), finishers: %d%n",
+                getNbGames(), getNbCompletedGames(), getNbFinishers()));
+        builder.append(String.format("Commands: %d, %.0f/s, %.0f/s per thread%n",
+                nbCommands, getCommandsPerSecond(), getCommandsPerSecondPerThread()));
+        builder.append(String.format("Completion time (s): mean %.1f, median %d, 90%% %d%n",
+                getMeanCompletionTime(), getCompletionTimePercentile(MEDIAN),
+                getCompletionTimePercentile(LAST_DECILE)));
+        builder.append(String.format("Score: mean %.1f, median %d, 90%% %d%n",
+                getMeanScore(), getScorePercentile(MEDIAN), getScorePercentile(LAST_DECILE)));
+        int[] histogram = getScoreHistogram();
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            builder.append(String.format("  [%4d, %4d[ %d%n",
+                    bucket * SCORE_BUCKET_SIZE, (bucket + 1) * SCORE_BUCKET_SIZE, histogram[bucket]));
+        }
+        return builder.toString();
+    }
+}
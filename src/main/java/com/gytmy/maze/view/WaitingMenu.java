@@ -13,6 +13,7 @@ import com.gytmy.maze.view.game.Cell;
 
 public class WaitingMenu extends JPanel {
 
+    private static final String DEFAULT_MESSAGE = "Recreating models of all users...";
     private static final String WAITING_GIF_PATH = "file:src/resources/images/settings_menu/loading.gif";
 
     private static JLabel queueLabel;
@@ -21,6 +22,10 @@ public class WaitingMenu extends JPanel {
     private static final Color BACKGROUND_COLOR = Cell.WALL_COLOR;
 
     public WaitingMenu() {
+        this(DEFAULT_MESSAGE);
+    }
+
+    public WaitingMenu(String message) {
         super(new BorderLayout());
 
         this.setBackground(BACKGROUND_COLOR);
@@ -29,14 +34,14 @@ public class WaitingMenu extends JPanel {
         this.revalidate();
         this.setVisible(true);
 
-        initComponents();
+        initComponents(message);
     }
 
-    private void initComponents() {
+    private void initComponents(String message) {
 
         initGif();
 
-        initLabel();
+        initLabel(message);
     }
 
     private void initGif() {
@@ -48,8 +53,8 @@ public class WaitingMenu extends JPanel {
         }
     }
 
-    private void initLabel() {
-        queueLabel = new JLabel("Recreating models of all users...");
+    private void initLabel(String message) {
+        queueLabel = new JLabel(message);
         queueLabel.setHorizontalAlignment(JLabel.CENTER);
         queueLabel.setVerticalAlignment(JLabel.CENTER);
         queueLabel.setFont(getFont().deriveFont(20f));
@@ -58,4 +63,8 @@ public class WaitingMenu extends JPanel {
 
         this.add(queueLabel, BorderLayout.CENTER);
     }
+
+    public void setMessage(String message) {
+        queueLabel.setText(message);
+    }
 }
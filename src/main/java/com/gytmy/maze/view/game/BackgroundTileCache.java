@@ -0,0 +1,193 @@
+package com.gytmy.maze.view.game;
+
+import java.awt.Component;
+import java.awt.Graphics;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Square tiles of the static background of a component, rasterized on demand
+ * and kept in a least recently used cache. Only the tiles intersecting the
+ * clip are rasterized, so the memory and the time needed do not depend on the
+ * size of the whole background but on the visible area.
+ * 
+ * A tile is a {@link VolatileImage} when possible, validated before each use.
+ * When its contents are lost after being drawn, or when no accelerated image
+ * can be created, the tile is replaced by a compatible {@link BufferedImage}.
+ */
+class BackgroundTileCache {
+
+    public static final int TILE_SIZE = 256;
+    public static final int MAXIMUM_CACHED_TILES = 128;
+
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * Paints an area of the background.
+     */
+    @FunctionalInterface
+    interface BackgroundPainter {
+
+        /**
+         * @param g    graphics translated so that the origin of the area is at
+         *             its own coordinates, and clipped to the area
+         * @param area the area to paint, in pixels
+         */
+        void paint(Graphics g, Rectangle area);
+    }
+
+    private final Component component;
+    private final BackgroundPainter painter;
+    private final Map<Long, Tile> tiles = new LinkedHashMap<Long, Tile>(MAXIMUM_CACHED_TILES, LOAD_FACTOR, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+            if (size() <= MAXIMUM_CACHED_TILES) {
+                return false;
+            }
+            eldest.getValue().flush();
+            return true;
+        }
+    };
+
+    BackgroundTileCache(Component component, BackgroundPainter painter) {
+        this.component = component;
+        this.painter = painter;
+    }
+
+    /**
+     * Draws the tiles intersecting the clip, clipped to it.
+     * 
+     * @param width  the width of the background
+     * @param height the height of the background
+     */
+    void paint(Graphics g, Rectangle clip, int width, int height) {
+        Rectangle visible = clip.intersection(new Rectangle(width, height));
+        if (visible.isEmpty()) {
+            return;
+        }
+        int lastColumn = (visible.x + visible.width - 1) / TILE_SIZE;
+        int lastRow = (visible.y + visible.height - 1) / TILE_SIZE;
+        for (int row = visible.y / TILE_SIZE; row <= lastRow; row++) {
+            for (int column = visible.x / TILE_SIZE; column <= lastColumn; column++) {
+                Rectangle area = new Rectangle(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+                getTile(column, row, area).draw(g, area.intersection(visible));
+            }
+        }
+    }
+
+    private Tile getTile(int column, int row, Rectangle area) {
+        long key = ((long) row << Integer.SIZE) | Integer.toUnsignedLong(column);
+        return tiles.computeIfAbsent(key, k -> new Tile(area));
+    }
+
+    /**
+     * Releases all the tiles, e.g. when the background changes.
+     */
+    void clear() {
+        Iterator<Tile> iterator = tiles.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().flush();
+            iterator.remove();
+        }
+    }
+
+    int getNbCachedTiles() {
+        return tiles.size();
+    }
+
+    private class Tile {
+
+        private final Rectangle area;
+        private VolatileImage accelerated;
+        private BufferedImage fallback;
+
+        private Tile(Rectangle area) {
+            this.area = area;
+        }
+
+        /**
+         * @param region the part of the tile to draw, in the coordinates of
+         *               the component
+         */
+        private void draw(Graphics g, Rectangle region) {
+            Image image = getImage();
+            drawRegion(g, image, region);
+            if (image == accelerated && accelerated.contentsLost()) {
+                accelerated.flush();
+                accelerated = null;
+                fallback = createFallback();
+                drawRegion(g, fallback, region);
+            }
+        }
+
+        private void drawRegion(Graphics g, Image image, Rectangle region) {
+            int left = region.x - area.x;
+            int top = region.y - area.y;
+            g.drawImage(image, region.x, region.y, region.x + region.width, region.y + region.height,
+                    left, top, left + region.width, top + region.height, null);
+        }
+
+        /**
+         * @return the accelerated image, validated and rasterized again if
+         *         needed, or the compatible one if it cannot be used
+         */
+        private Image getImage() {
+            if (fallback != null) {
+                return fallback;
+            }
+            GraphicsConfiguration configuration = component.getGraphicsConfiguration();
+            if (accelerated != null && configuration != null) {
+                int status = accelerated.validate(configuration);
+                if (status == VolatileImage.IMAGE_RESTORED) {
+                    rasterize(accelerated);
+                }
+                if (status != VolatileImage.IMAGE_INCOMPATIBLE) {
+                    return accelerated;
+                }
+                accelerated.flush();
+            }
+            accelerated = component.createVolatileImage(area.width, area.height);
+            if (accelerated == null) {
+                fallback = createFallback();
+                return fallback;
+            }
+            rasterize(accelerated);
+            return accelerated;
+        }
+
+        private BufferedImage createFallback() {
+            GraphicsConfiguration configuration = component.getGraphicsConfiguration();
+            BufferedImage image = configuration == null
+                    ? new BufferedImage(area.width, area.height, BufferedImage.TYPE_INT_RGB)
+                    : configuration.createCompatibleImage(area.width, area.height);
+            rasterize(image);
+            return image;
+        }
+
+        private void rasterize(Image image) {
+            Graphics g = image.getGraphics();
+            try {
+                g.translate(-area.x, -area.y);
+                g.setClip(area.x, area.y, area.width, area.height);
+                painter.paint(g, area);
+            } finally {
+                g.dispose();
+            }
+        }
+
+        private void flush() {
+            if (accelerated != null) {
+                accelerated.flush();
+            }
+            if (fallback != null) {
+                fallback.flush();
+            }
+        }
+    }
+}
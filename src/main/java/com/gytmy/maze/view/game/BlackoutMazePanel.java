@@ -1,96 +1,113 @@
 package com.gytmy.maze.view.game;
 
 import java.awt.Color;
-import java.awt.Dimension;
-import java.awt.GridLayout;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.Arrays;
 
 import javax.swing.JPanel;
 
 import com.gytmy.maze.model.player.Player;
-import com.gytmy.utils.Coordinates;
 
+/**
+ * Hides the maze during the blackout, except for the trail of the last moves:
+ * the cell a player just moved to takes the color of the player, then fades
+ * through {@code TRAIL_COLORS} and goes dark again.
+ * 
+ * The move of the last visit of each cell is kept in an array and the cells
+ * of the trail in a ring of the last moves, so a move only updates and
+ * repaints the cells of the trail, whatever the size of the maze.
+ */
 public class BlackoutMazePanel extends JPanel {
 
-    private int nbRows;
-    private int nbCols;
-    private BlackoutCell[][] cells;
-
     private static final Color[] TRAIL_COLORS = {
             Color.decode("#c5f1fa"),
             Color.decode("#b5f2ff"),
             Color.decode("#8edced"),
             Color.decode("#6ddef7")
     };
+    // The visited cell, then one cell per color of the trail
+    private static final int TRAIL_LENGTH = TRAIL_COLORS.length + 1;
+    private static final int NEVER_VISITED = -1;
+
+    private MazePanel mazePanel;
+    private int nbCols;
+
+    // The move of the last visit of each cell, indexed by y * nbCols + x
+    private int[] lastVisits;
+    // The cell visited at each of the last moves, move % TRAIL_LENGTH
+    private int[] trail;
+    private Color lastVisitorColor;
+    private int nbMoves;
 
     public BlackoutMazePanel(MazePanel mazePanel) {
         super();
+        this.mazePanel = mazePanel;
         setBackground(MazeBlackoutView.BLACKOUT_COLOR);
         setPreferredSize(mazePanel.getPreferredSize());
-        setBackground(Cell.WALL_COLOR);
-
-        Dimension mazeDimension = mazePanel.getMazeSize();
-        this.nbRows = mazeDimension.height;
-        this.nbCols = mazeDimension.width;
-
-        setLayout(new GridLayout(nbRows, nbCols));
-
-        this.cells = new BlackoutCell[nbRows][nbCols];
-
-        initCells();
 
+        this.nbCols = mazePanel.getMazeSize().width;
+        this.lastVisits = new int[nbCols * mazePanel.getMazeSize().height];
+        Arrays.fill(lastVisits, NEVER_VISITED);
+        this.trail = new int[TRAIL_LENGTH];
+        Arrays.fill(trail, NEVER_VISITED);
     }
 
-    public void initCells() {
-        for (int row = 0; row < nbRows; ++row) {
-            for (int col = 0; col < nbCols; ++col) {
-                this.cells[row][col] = new BlackoutCell();
-                add(this.cells[row][col]);
-            }
-        }
-    }
-
+    /**
+     * Adds the cell of the player to the trail, after one of its moves.
+     * 
+     * @param player
+     */
     public void update(Player player) {
-        Coordinates playerCoordinates = player.getCoordinates();
-        BlackoutCell cell = cells[playerCoordinates.getY()][playerCoordinates.getX()];
-        cell.visit(player);
-        updateCells();
-
-        revalidate();
-        repaint();
+        int slot = nbMoves % TRAIL_LENGTH;
+        // The oldest cell of the trail goes dark
+        repaintCell(trail[slot]);
+
+        int cell = player.getY() * nbCols + player.getX();
+        trail[slot] = cell;
+        lastVisits[cell] = nbMoves;
+        lastVisitorColor = player.getColor();
+        nbMoves++;
+
+        for (int trailCell : trail) {
+            repaintCell(trailCell);
+        }
     }
 
-    private void updateCells() {
-        for (int row = 0; row < nbRows; ++row) {
-            for (int col = 0; col < nbCols; ++col) {
-                cells[row][col].update();
-            }
+    private void repaintCell(int cell) {
+        if (cell != NEVER_VISITED) {
+            repaint(getCellBounds(cell));
         }
     }
 
-    private class BlackoutCell extends JPanel {
-
-        private int lastVisited = -1;
-
-        public BlackoutCell() {
-            super();
-            setBackground(MazeBlackoutView.BLACKOUT_COLOR);
-        }
+    private Rectangle getCellBounds(int cell) {
+        return mazePanel.getCellBounds(cell % nbCols, cell / nbCols);
+    }
 
-        public void update() {
-            if (lastVisited < 0) {
-                setBackground(MazeBlackoutView.BLACKOUT_COLOR);
-                return;
-            } else if (lastVisited < TRAIL_COLORS.length) {
-                setBackground(TRAIL_COLORS[lastVisited]);
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        int lastMove = nbMoves - 1;
+        for (int age = 0; age < TRAIL_LENGTH && age <= lastMove; age++) {
+            int move = lastMove - age;
+            int cell = trail[move % TRAIL_LENGTH];
+            // A cell visited again is painted with its most recent visit
+            if (lastVisits[cell] == move) {
+                g.setColor(getTrailColor(age));
+                Rectangle bounds = getCellBounds(cell);
+                g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
             }
-            lastVisited--;
         }
+    }
 
-        public void visit(Player player) {
-            setBackground(player.getColor());
-            lastVisited = TRAIL_COLORS.length;
+    /**
+     * @param age the number of moves since the visit of the cell
+     * @return the color of a cell of the trail
+     */
+    private Color getTrailColor(int age) {
+        if (age == 0) {
+            return lastVisitorColor;
         }
-
+        return TRAIL_COLORS[TRAIL_COLORS.length - age];
     }
-
-}
\ No newline at end of file
+}
@@ -142,9 +142,6 @@ public class MazeBlackoutView extends MazeViewImplementation {
     public void update(Player player, Direction direction) {
         super.update(player, direction);
         blackoutPanel.update(player);
-
-        revalidate();
-        repaint();
     }
 
     @Override
@@ -0,0 +1,25 @@
+package com.gytmy.maze.view.game;
+
+import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.MazeModelFactory;
+import com.gytmy.maze.model.board.Board;
+
+/**
+ * Factory of the panels rendering the mazes. Every maze is painted by a single
+ * {@link MazeRenderer}; the large ones are displayed in a scroll pane with
+ * smaller cells.
+ */
+public class MazePanelFactory {
+
+    private MazePanelFactory() {
+    }
+
+    public static MazePanel createMazePanel(MazeModel model) {
+        return new MazeRenderer(model);
+    }
+
+    public static boolean isLargeMaze(MazeModel model) {
+        Board board = model.getBoard();
+        return MazeModelFactory.isLargeMaze(board.getWidth(), board.getHeight());
+    }
+}
@@ -0,0 +1,305 @@
+package com.gytmy.maze.view.game;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.util.List;
+
+import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.MazeModelFactory;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.utils.Coordinates;
+
+/**
+ * Renders the maze in a single component: the walls, the initial and exit
+ * cells and the players are painted directly from the model, so the number of
+ * components does not depend on the size of the maze and there is no layout
+ * to compute. Only the cells intersecting the clip are painted, so the cost of
+ * a repaint depends on the visible area and not on the size of the maze: a
+ * move only repaints the two cells involved.
+ * 
+ * The walls, the paths, the initial and the exit cells do not change during a
+ * game: they are rasterized once, by tiles, into images accelerated when
+ * possible, and a repaint only draws the visible tiles and the players over
+ * them. The tiles are rasterized when they first become visible and only the
+ * most recently used are kept, so even the largest mazes do not need more
+ * than a few screens of images.
+ * 
+ * The cells are {@code Cell.CELL_SIZE} pixels wide, or smaller for the large
+ * mazes, which are meant to be displayed inside a scroll pane where they can
+ * be zoomed.
+ */
+public class MazeRenderer extends MazePanel {
+
+    public static final int MINIMUM_CELL_SIZE = 4;
+    // Largest dimension, in pixels, of a maze rendered with full sized cells
+    public static final int MAXIMUM_MAZE_PIXELS = Cell.CELL_SIZE * MazeModelFactory.LARGE_MAZE_THRESHOLD;
+
+    // Owner of each tile of a cell shared by five players, split in 4 x 4
+    // tiles: the first four players take a corner, the last one the center
+    private static final int[][] FIVE_PLAYERS_TILES = {
+            { 0, 0, 1, 1 },
+            { 0, 4, 4, 1 },
+            { 2, 4, 4, 3 },
+            { 2, 2, 3, 3 }
+    };
+    private static final int FOUR_PLAYERS = 4;
+    private static final int FIVE_PLAYERS = 5;
+    private static final int QUADRANTS_PER_SIDE = 2;
+    // The sizes of the cells, in pixels, between which the zoom switches
+    private static final int[] ZOOM_LEVELS = { 2, 4, 6, 8, 12, 16, 24, 32, 48 };
+
+    private Board board;
+    private int cellSize;
+    private BackgroundTileCache backgroundTiles;
+
+    public MazeRenderer(MazeModel model) {
+        super(model);
+        this.board = model.getBoard();
+        this.cellSize = computeCellSize();
+        this.backgroundTiles = new BackgroundTileCache(this, this::paintBackground);
+
+        setBackground(Cell.WALL_COLOR);
+        setPreferredSize(new Dimension(cellSize * nbCols, cellSize * nbRows));
+    }
+
+    /**
+     * @return the biggest cell size allowing the maze to fit in
+     *         {@code MAXIMUM_MAZE_PIXELS}, bounded by {@code MINIMUM_CELL_SIZE}
+     *         and {@code Cell.CELL_SIZE}
+     */
+    private int computeCellSize() {
+        int fittingSize = MAXIMUM_MAZE_PIXELS / Math.max(nbRows, nbCols);
+        return Math.max(MINIMUM_CELL_SIZE, Math.min(Cell.CELL_SIZE, fittingSize));
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Changes the size of the cells, e.g. to zoom.
+     * 
+     * @param cellSize the new size of the cells, in pixels
+     */
+    public void setCellSize(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("The cell size must be positive");
+        }
+        if (cellSize == this.cellSize) {
+            return;
+        }
+        this.cellSize = cellSize;
+        backgroundTiles.clear();
+
+        Dimension size = new Dimension(cellSize * nbCols, cellSize * nbRows);
+        setPreferredSize(size);
+        // Resized now so that the new cells can be scrolled to before the layout
+        setSize(size);
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void zoomIn() {
+        for (int zoomLevel : ZOOM_LEVELS) {
+            if (zoomLevel > cellSize) {
+                setCellSize(zoomLevel);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void zoomOut() {
+        for (int level = ZOOM_LEVELS.length - 1; level >= 0; level--) {
+            if (ZOOM_LEVELS[level] < cellSize) {
+                setCellSize(ZOOM_LEVELS[level]);
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(getPreferredSize());
+        }
+
+        backgroundTiles.paint(g, clip, cellSize * nbCols, cellSize * nbRows);
+        paintPlayers(g, getCellsInClip(clip));
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // The tiles may not be compatible with the next graphics configuration
+        backgroundTiles.clear();
+    }
+
+    /**
+     * Rasterizes an area of the background: the walls, the paths, the initial
+     * and the exit cells.
+     */
+    private void paintBackground(Graphics g, Rectangle area) {
+        g.setColor(Cell.WALL_COLOR);
+        g.fillRect(area.x, area.y, area.width, area.height);
+        paintBoard(g, getCellsInClip(area));
+    }
+
+    /**
+     * Paints the paths, the initial and the exit cells among the given cells
+     * over the walls.
+     */
+    private void paintBoard(Graphics g, Rectangle cells) {
+        paintPaths(g, cells);
+        paintCell(g, model.getInitialCell(), Cell.INITIAL_CELL_COLOR);
+        paintCell(g, model.getExitCell(), Cell.EXIT_CELL_COLOR);
+    }
+
+    /**
+     * @return the cells intersecting the clip, in cell units
+     */
+    private Rectangle getCellsInClip(Rectangle clip) {
+        int firstCol = Math.max(0, clip.x / cellSize);
+        int lastCol = Math.min(nbCols - 1, (clip.x + clip.width - 1) / cellSize);
+        int firstRow = Math.max(0, clip.y / cellSize);
+        int lastRow = Math.min(nbRows - 1, (clip.y + clip.height - 1) / cellSize);
+        return new Rectangle(firstCol, firstRow, Math.max(0, lastCol - firstCol + 1),
+                Math.max(0, lastRow - firstRow + 1));
+    }
+
+    /**
+     * Paints the path cells among the given cells. Consecutive path cells of a
+     * row are painted with a single rectangle.
+     */
+    private void paintPaths(Graphics g, Rectangle cells) {
+        int lastCol = cells.x + cells.width - 1;
+        g.setColor(Cell.PATH_COLOR);
+        for (int row = cells.y; row < cells.y + cells.height; row++) {
+            int col = cells.x;
+            while (col <= lastCol) {
+                if (board.isWall(col, row)) {
+                    col++;
+                    continue;
+                }
+                int runStart = col;
+                while (col <= lastCol && board.isPath(col, row)) {
+                    col++;
+                }
+                g.fillRect(runStart * cellSize, row * cellSize, (col - runStart) * cellSize, cellSize);
+            }
+        }
+    }
+
+    private void paintCell(Graphics g, Coordinates coordinates, Color color) {
+        g.setColor(color);
+        g.fillRect(coordinates.getX() * cellSize, coordinates.getY() * cellSize, cellSize, cellSize);
+    }
+
+    /**
+     * Paints the players of each occupied cell among the given cells. A few
+     * cells, like the ones repainted after a move, are scanned one by one;
+     * otherwise the cell of a player is painted when its first player is met.
+     */
+    private void paintPlayers(Graphics g, Rectangle cells) {
+        if ((long) cells.width * cells.height <= model.getPlayers().length) {
+            for (int row = cells.y; row < cells.y + cells.height; row++) {
+                for (int col = cells.x; col < cells.x + cells.width; col++) {
+                    paintPlayersAt(g, col, row);
+                }
+            }
+            return;
+        }
+
+        for (Player player : model.getPlayers()) {
+            if (cells.contains(player.getX(), player.getY())) {
+                List<Player> playersInCell = model.getPlayersAtCoordinates(player.getX(), player.getY());
+                if (playersInCell.get(0) == player) {
+                    paintPlayersInCell(g, player.getX() * cellSize, player.getY() * cellSize, playersInCell);
+                }
+            }
+        }
+    }
+
+    private void paintPlayersAt(Graphics g, int col, int row) {
+        if (board.isWall(col, row)) {
+            return;
+        }
+        List<Player> playersInCell = model.getPlayersAtCoordinates(col, row);
+        if (!playersInCell.isEmpty()) {
+            paintPlayersInCell(g, col * cellSize, row * cellSize, playersInCell);
+        }
+    }
+
+    /**
+     * Splits the cell between its players: side by side stripes for up to
+     * three players, quadrants for four and corners around the center for
+     * five.
+     */
+    private void paintPlayersInCell(Graphics g, int x, int y, List<Player> players) {
+        switch (players.size()) {
+            case FOUR_PLAYERS:
+                paintTiles(g, x, y, players, QUADRANTS_PER_SIDE);
+                break;
+            case FIVE_PLAYERS:
+                paintTiles(g, x, y, players, FIVE_PLAYERS_TILES.length);
+                break;
+            default:
+                paintStripes(g, x, y, players);
+                break;
+        }
+    }
+
+    private void paintStripes(Graphics g, int x, int y, List<Player> players) {
+        int nbPlayers = players.size();
+        for (int i = 0; i < nbPlayers; i++) {
+            int left = i * cellSize / nbPlayers;
+            int right = (i + 1) * cellSize / nbPlayers;
+            g.setColor(players.get(i).getColor());
+            g.fillRect(x + left, y, right - left, cellSize);
+        }
+    }
+
+    /**
+     * @param tilesPerSide 2 for the quadrants of four players, 4 for the
+     *                     pattern of five players
+     */
+    private void paintTiles(Graphics g, int x, int y, List<Player> players, int tilesPerSide) {
+        for (int row = 0; row < tilesPerSide; row++) {
+            for (int col = 0; col < tilesPerSide; col++) {
+                int owner = tilesPerSide == QUADRANTS_PER_SIDE ? row * tilesPerSide + col
+                        : FIVE_PLAYERS_TILES[row][col];
+                int left = col * cellSize / tilesPerSide;
+                int top = row * cellSize / tilesPerSide;
+                int right = (col + 1) * cellSize / tilesPerSide;
+                int bottom = (row + 1) * cellSize / tilesPerSide;
+                g.setColor(players.get(owner).getColor());
+                g.fillRect(x + left, y + top, right - left, bottom - top);
+            }
+        }
+    }
+
+    /**
+     * Repaints only the cell left by the player and the cell it moved to; the
+     * rest of the maze is left untouched by a move.
+     */
+    @Override
+    public void update(Player player, Direction direction) {
+        repaintCell(player.getX() - direction.getDeltaX(), player.getY() - direction.getDeltaY());
+        repaintCell(player.getX(), player.getY());
+    }
+
+    private void repaintCell(int x, int y) {
+        repaint(x * cellSize, y * cellSize, cellSize, cellSize);
+    }
+
+    @Override
+    public Rectangle getCellBounds(int x, int y) {
+        return new Rectangle(x * cellSize, y * cellSize, cellSize, cellSize);
+    }
+}
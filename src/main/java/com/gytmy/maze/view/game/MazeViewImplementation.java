@@ -5,6 +5,7 @@ import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.KeyEvent;
 
 import javax.swing.Icon;
@@ -12,6 +13,7 @@ import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import javax.swing.SwingConstants;
 import javax.swing.border.EmptyBorder;
 
@@ -68,7 +70,7 @@ public class MazeViewImplementation extends MazeView {
 
         setLayout(new GridBagLayout());
         setBackground(BACKGROUND_COLOR);
-        mazePanel = new MazePanel(model);
+        mazePanel = MazePanelFactory.createMazePanel(model);
     }
 
     private void addPauseKeyBind() {
@@ -176,7 +178,7 @@ public class MazeViewImplementation extends MazeView {
         c.gridx = 0;
         c.gridy = 1;
         c.fill = GridBagConstraints.NONE;
-        add(mazePanel, c);
+        add(getMazeComponent(), c);
 
         c.gridx = 0;
         c.gridy = 2;
@@ -186,6 +188,54 @@ public class MazeViewImplementation extends MazeView {
         add(playerInfoPanel, c);
     }
 
+    /**
+     * Large mazes do not fit in the frame, they are wrapped in a scroll pane
+     * following the current player, and can be zoomed in and out with the
+     * plus and minus keys.
+     * 
+     * @return the component to add to the view to display the maze
+     */
+    private JComponent getMazeComponent() {
+        if (!MazePanelFactory.isLargeMaze(model)) {
+            return mazePanel;
+        }
+        JScrollPane scrollPane = new JScrollPane(mazePanel);
+        scrollPane.setBorder(null);
+        scrollPane.getViewport().setBackground(BACKGROUND_COLOR);
+        scrollPane.setPreferredSize(getLargeMazeViewportSize());
+        scrollPane.addHierarchyListener(event -> {
+            if ((event.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && scrollPane.isShowing()) {
+                mazePanel.followPlayer(controller.getCurrentPlayer());
+            }
+        });
+        addZoomKeyBinds();
+        return scrollPane;
+    }
+
+    private void addZoomKeyBinds() {
+        HotkeyAdder.addHotkey(this, KeyEvent.VK_ADD, this::zoomIn, "Zoom in");
+        HotkeyAdder.addHotkey(this, KeyEvent.VK_EQUALS, this::zoomIn, "Zoom in with equals");
+        HotkeyAdder.addHotkey(this, KeyEvent.VK_SUBTRACT, this::zoomOut, "Zoom out");
+        HotkeyAdder.addHotkey(this, KeyEvent.VK_MINUS, this::zoomOut, "Zoom out with minus");
+    }
+
+    private void zoomIn() {
+        mazePanel.zoomIn();
+        mazePanel.followPlayer(controller.getCurrentPlayer());
+    }
+
+    private void zoomOut() {
+        mazePanel.zoomOut();
+        mazePanel.followPlayer(controller.getCurrentPlayer());
+    }
+
+    private Dimension getLargeMazeViewportSize() {
+        Dimension mazeSize = mazePanel.getPreferredSize();
+        return new Dimension(
+                Math.min(mazeSize.width, MazeRenderer.MAXIMUM_MAZE_PIXELS),
+                Math.min(mazeSize.height, MazeRenderer.MAXIMUM_MAZE_PIXELS));
+    }
+
     protected void initTopPanel() {
         topPanel = new JPanel();
         topPanel.setLayout(new GridBagLayout());
@@ -253,6 +303,7 @@ public class MazeViewImplementation extends MazeView {
 
     @Override
     public void updatePlayerInfoPanel(Player player) {
+        mazePanel.followPlayer(player);
         playerInfoPanel.update(player);
     }
 
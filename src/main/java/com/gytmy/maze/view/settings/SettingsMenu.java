@@ -9,15 +9,19 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 import com.gytmy.maze.controller.MazeController;
 import com.gytmy.maze.controller.MazeControllerImplementation;
 import com.gytmy.maze.model.GameData;
+import com.gytmy.maze.model.MazeModel;
+import com.gytmy.maze.model.MazeModelBuilder;
 import com.gytmy.maze.model.gamemode.GameMode;
 import com.gytmy.maze.model.gamemode.GameModeData;
 import com.gytmy.maze.model.player.Player;
@@ -51,6 +55,7 @@ public class SettingsMenu extends JPanel {
     private static final String START_GAME_BUTTON_IMAGE_PATH = "src/resources/images/settings_menu/StartButton.png";
 
     private RecognizeUserPage recognizeUserPage;
+    private volatile CompletableFuture<MazeModel> mazeCreation;
     private static SettingsMenu instance = null;
 
     public static SettingsMenu getInstance() {
@@ -191,19 +196,68 @@ public class SettingsMenu extends JPanel {
         GameMode gameMode = gameModeSelectionPanel.getSelectedGameMode();
         GameData gameData = new GameData(gameModeSettings, gameMode, players);
 
+        cancelMazeCreation();
+
+        WaitingMenu waitingMenu = new WaitingMenu(MazeModelBuilder.Phase.GENERATION.getDescription() + "...");
+        HotkeyAdder.addHotkey(waitingMenu, KeyEvent.VK_ESCAPE, this::cancelGameLaunch, "Cancel the game");
+        MenuFrameHandler.getMainFrame().setContentPane(waitingMenu);
+        MenuFrameHandler.frameUpdate("Creating the maze");
+
+        // The maze is created on a worker thread, the interface is updated on the
+        // event dispatch thread
+        CompletableFuture<MazeModel> maze = MazeControllerImplementation.createMazeAsync(gameData,
+                phase -> SwingUtilities.invokeLater(() -> waitingMenu.setMessage(getProgressMessage(phase))));
+        mazeCreation = maze;
+        maze.whenComplete((model, error) -> SwingUtilities.invokeLater(() -> {
+            if (maze == mazeCreation) {
+                mazeCreation = null;
+                handleMazeCreated(gameData, model, error);
+            }
+        }));
+    }
+
+    private static String getProgressMessage(MazeModelBuilder.Phase phase) {
+        return phase.getDescription() + "... " + phase.getProgress() + "%";
+    }
+
+    private void handleMazeCreated(GameData gameData, MazeModel model, Throwable error) {
+        if (error != null) {
+            error.printStackTrace();
+            JOptionPane.showMessageDialog(this, "The maze could not be created", "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            MenuFrameHandler.goToSettingsMenu();
+            return;
+        }
+
         JFrame frame = MenuFrameHandler.getMainFrame();
-        MazeController mazeController = new MazeControllerImplementation(gameData, frame);
+        MazeController mazeController = new MazeControllerImplementation(gameData, model, frame);
         MazeView mazeView = mazeController.getView();
 
         playerSelectionPanel.setPlayersToUnready();
 
         frame.setContentPane(mazeView);
 
-        MenuFrameHandler.frameUpdate(gameMode.toString());
+        MenuFrameHandler.frameUpdate(gameData.getGameMode().toString());
 
         mazeView.setGamePreferredSize(frame.getSize());
     }
 
+    /**
+     * Stops the creation of the maze and goes back to the settings, e.g. to
+     * choose a smaller maze.
+     */
+    private void cancelGameLaunch() {
+        cancelMazeCreation();
+        MenuFrameHandler.goToSettingsMenu();
+    }
+
+    private void cancelMazeCreation() {
+        if (mazeCreation != null) {
+            mazeCreation.cancel(false);
+            mazeCreation = null;
+        }
+    }
+
     public void updateRecognized(Player player, boolean recognized) {
         comparedPlayerCount++;
         if (recognized) {
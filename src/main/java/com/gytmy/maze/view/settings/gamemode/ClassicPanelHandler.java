@@ -19,6 +19,10 @@ import com.gytmy.maze.model.gamemode.GameModeData;
  */
 class ClassicPanelHandler implements PanelHandler {
 
+    // Middle of the sizes that do not need the large maze mode
+    private static final int DEFAULT_SIZE = (MazeModelFactory.MINIMUM_WIDTH_2D
+            + MazeModelFactory.LARGE_MAZE_THRESHOLD) / 2;
+
     private JPanel settingsPanel;
 
     private JTextField widthInputField;
@@ -41,11 +45,11 @@ class ClassicPanelHandler implements PanelHandler {
 
     private void initComponents() {
         widthInputField = DefaultComponentBuilder.buildInputField(
-                MazeModelFactory.MINIMUM_WIDTH_2D, MazeModelFactory.MAXIMUM_SIZE);
+                MazeModelFactory.MINIMUM_WIDTH_2D, MazeModelFactory.MAXIMUM_SIZE, DEFAULT_SIZE);
         widthLabel = DefaultComponentBuilder.buildLabel("Width: ");
 
         heightInputField = DefaultComponentBuilder.buildInputField(
-                MazeModelFactory.MINIMUM_HEIGHT_2D, MazeModelFactory.MAXIMUM_SIZE);
+                MazeModelFactory.MINIMUM_HEIGHT_2D, MazeModelFactory.MAXIMUM_SIZE, DEFAULT_SIZE);
         heightLabel = DefaultComponentBuilder.buildLabel("Height: ");
     }
 
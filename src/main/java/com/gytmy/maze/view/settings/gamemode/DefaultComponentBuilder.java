@@ -38,9 +38,19 @@ public class DefaultComponentBuilder {
      * 
      */
     public static JTextField buildInputField(int lowerBound, int upperBound) {
+        return buildInputField(lowerBound, upperBound, getMiddleValue(lowerBound, upperBound));
+    }
+
+    /**
+     * Builds a JTextField that only accepts numbers between the given bounds,
+     * filled with the given default value. The bounds are included and the
+     * default options are the same as {@link #buildInputField(int, int)}.
+     * 
+     */
+    public static JTextField buildInputField(int lowerBound, int upperBound, int defaultValue) {
         JTextField inputField = new UserInputFieldNumberInBounds(lowerBound, upperBound).getTextField();
         inputField.setFont(FONT);
-        inputField.setText("" + getMiddleValue(lowerBound, upperBound));
+        inputField.setText("" + defaultValue);
         setBackgroundAndForeground(inputField);
         return inputField;
     }
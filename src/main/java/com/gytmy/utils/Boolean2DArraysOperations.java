@@ -82,15 +82,11 @@ public class Boolean2DArraysOperations {
      */
     public static boolean[][] addEmptyColumn(boolean[][] array, int index) {
         handleNullArray(array);
-        boolean[][] newArray = new boolean[array.length][array[0].length + 1];
+        boolean[][] newArray = new boolean[array.length][];
         for (int row = 0; row < array.length; ++row) {
-            for (int col = 0; col < array[row].length; ++col) {
-                if (col < index) {
-                    newArray[row][col] = array[row][col];
-                } else {
-                    newArray[row][col + 1] = array[row][col];
-                }
-            }
+            newArray[row] = new boolean[array[row].length + 1];
+            System.arraycopy(array[row], 0, newArray[row], 0, index);
+            System.arraycopy(array[row], index, newArray[row], index + 1, array[row].length - index);
         }
         return newArray;
     }
@@ -105,19 +101,63 @@ public class Boolean2DArraysOperations {
      */
     public static boolean[][] addEmptyRow(boolean[][] array, int index) {
         handleNullArray(array);
-        boolean[][] newArray = new boolean[array.length + 1][array[0].length];
+        boolean[][] newArray = new boolean[array.length + 1][];
         for (int row = 0; row < array.length; ++row) {
-            for (int col = 0; col < array[row].length; ++col) {
-                if (row < index) {
-                    newArray[row][col] = array[row][col];
-                } else {
-                    newArray[row + 1][col] = array[row][col];
-                }
-            }
+            newArray[row < index ? row : row + 1] = Arrays.copyOf(array[row], array[row].length);
         }
+        newArray[index] = new boolean[array.length == 0 ? 0 : array[0].length];
         return newArray;
     }
 
+    /**
+     * Return a copy of a 2D boolean array surrounded by empty (false) rows and
+     * columns. The new array is allocated once and each row is copied with a
+     * single {@code System.arraycopy}, whatever the number of rows and columns
+     * added.
+     * 
+     * @param array
+     * @param top    the number of empty rows added above the array
+     * @param left   the number of empty columns added on its left
+     * @param bottom the number of empty rows added below the array
+     * @param right  the number of empty columns added on its right
+     * @return
+     */
+    public static boolean[][] addEmptyBorders(boolean[][] array, int top, int left, int bottom, int right) {
+        handleNullArray(array);
+        if (top < 0 || left < 0 || bottom < 0 || right < 0) {
+            throw new IllegalArgumentException("The borders cannot be negative");
+        }
+        int width = array.length == 0 ? 0 : array[0].length;
+        boolean[][] newArray = new boolean[top + array.length + bottom][left + width + right];
+        for (int row = 0; row < array.length; ++row) {
+            System.arraycopy(array[row], 0, newArray[top + row], left, width);
+        }
+        return newArray;
+    }
+
+    /**
+     * Return a copy of a 2D boolean array whose first and last rows and columns
+     * are empty (false), adding an empty row or column only on the sides which
+     * are not already empty. The dimensions of the result are computed before
+     * copying the array once.
+     * 
+     * @param array
+     * @return
+     */
+    public static boolean[][] addMissingBorders(boolean[][] array) {
+        handleNullArray(array);
+        if (array.length == 0 || array[0].length == 0) {
+            return copy(array);
+        }
+        int lastRow = array.length - 1;
+        int lastColumn = array[0].length - 1;
+        return addEmptyBorders(array,
+                isRowEmpty(array, 0) ? 0 : 1,
+                isColumnEmpty(array, 0) ? 0 : 1,
+                isRowEmpty(array, lastRow) ? 0 : 1,
+                isColumnEmpty(array, lastColumn) ? 0 : 1);
+    }
+
     private static void handleNullArray(boolean[][] array) {
         if (array == null) {
             throw new IllegalArgumentException("Array cannot be null");
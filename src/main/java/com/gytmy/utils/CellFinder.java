@@ -1,30 +1,78 @@
 package com.gytmy.utils;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
-import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
 
 /**
  * This class is used to find information abot the cells in the board. It is
  * used to find the entrance and exit cells of the maze. It is also used to
  * find the distance between two cells.
+ * 
+ * The searches work on cell indices ({@code y * width + x}) and reuse their
+ * buffers from one search to another: an int ring buffer for the queue and an
+ * array of marks. A search writes {@code searchBase + distance} in the mark of
+ * every cell it reaches, with a {@code searchBase} greater than any mark of the
+ * previous searches. The marks are therefore both the visited flags and the
+ * distance map of the last search, and they never need to be cleared.
  */
 public class CellFinder {
 
-    private boolean[][] board;
-    private boolean[][] visited;
-    private Queue<Coordinates> queue;
+    private static final int INITIAL_QUEUE_CAPACITY = 64;
+    private static final int NO_CELL = -1;
+    // Number of cells visited between two polls of the cancellation check
+    private static final int CANCELLATION_POLL_INTERVAL = 1 << 14;
+
+    private Board board;
+    private int width;
+    private int height;
+    private BooleanSupplier isCancelled = () -> false;
+
+    private int[] marks;
+    private int searchBase;
+    private int nextSearchBase = 1;
+    private int lastSearchStart = NO_CELL;
+
+    private int[] queue = new int[INITIAL_QUEUE_CAPACITY];
+    private int queueHead;
+    private int queueSize;
 
     public CellFinder(boolean[][] board) {
+        this(BitPackedBoard.fromArray(board));
+    }
+
+    public CellFinder(Board board) {
         this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+    }
+
+    /**
+     * Sets the check polled during the searches, e.g. to stop searching a
+     * maze that is not needed anymore. A cancelled search throws a
+     * {@link CancellationException} and leaves no distance map.
+     * 
+     * @param isCancelled tells whether the searches were cancelled
+     */
+    public void setCancellationCheck(BooleanSupplier isCancelled) {
+        if (isCancelled == null) {
+            throw new IllegalArgumentException("The cancellation check cannot be null");
+        }
+        this.isCancelled = isCancelled;
     }
 
     /**
      * Returns the furthest cell from a given cell in the board. It is used to
      * find the exit cell of the maze. It uses a variation of breadth-first
      * search.
-     *
+     * 
+     * The search also fills the distance map from the given cell, so a
+     * following call to {@link #getDistance(Coordinates, Coordinates)} from the
+     * same cell is answered without a new search.
+     * 
      * @param start the starting cell
      * @return the furthest cell from the starting cell
      * @see <a href=
@@ -32,27 +80,15 @@ public class CellFinder {
      *      search</a>
      */
     public Coordinates getFurthestCell(Coordinates start) {
-
-        initializeSearchingVariables(start);
-
-        Coordinates furthestCell = null;
-
-        while (!queue.isEmpty()) {
-            Coordinates current = queue.remove();
-            for (Direction direction : Direction.values()) {
-                handleNeighbor(current, direction);
-            }
-            if (queue.isEmpty()) {
-                furthestCell = current;
-            }
-        }
-
-        return furthestCell;
+        int furthestCell = search(toIndex(start), NO_CELL);
+        return toCoordinates(furthestCell);
     }
 
     /**
      * Returns the distance between two cells in the board. It
-     * is uses the breadth-first search.
+     * is uses the breadth-first search, stopped as soon as the ending cell is
+     * reached. If the ending cell was already reached by the last search from
+     * the same starting cell, its distance is read from the distance map.
      * 
      * @param start the starting cell
      * @param end   the ending cell
@@ -62,71 +98,206 @@ public class CellFinder {
      *      search</a>
      */
     public int getDistance(Coordinates start, Coordinates end) {
-        initializeSearchingVariables(start);
-
-        int distance = 0;
-        while (!queue.isEmpty()) {
-            int size = queue.size();
-            for (int i = 0; i < size; i++) {
-                Coordinates current = queue.remove();
-                if (current.equals(end)) {
-                    return distance;
-                }
-                for (Direction direction : Direction.values()) {
-                    handleNeighbor(current, direction);
-                }
+        int startIndex = toIndex(start);
+        int endIndex = toIndex(end);
+
+        if (lastSearchStart == startIndex && isVisited(endIndex)) {
+            return getSearchedDistance(endIndex);
+        }
+        if (search(startIndex, endIndex) != endIndex) {
+            return -1;
+        }
+        return getSearchedDistance(endIndex);
+    }
+
+    /**
+     * Computes the distance between the given cell and every cell of the board
+     * with a single breadth-first search.
+     * 
+     * @param start the starting cell
+     * @return the distances indexed by {@code y * width + x}, -1 for the cells
+     *         that cannot be reached from the starting cell
+     */
+    public int[] getDistanceField(Coordinates start) {
+        search(toIndex(start), NO_CELL);
+
+        int[] distances = new int[marks.length];
+        for (int cell = 0; cell < distances.length; cell++) {
+            distances[cell] = isVisited(cell) ? getSearchedDistance(cell) : -1;
+        }
+        return distances;
+    }
+
+    /**
+     * Breadth-first search from the given cell.
+     * 
+     * @param start  the index of the starting cell
+     * @param target the index of the cell stopping the search or
+     *               {@code NO_CELL} to visit every reachable cell
+     * @return the target if it was reached; the last visited cell otherwise
+     */
+    private int search(int start, int target) {
+        beginSearch(start);
+
+        int current = start;
+        for (int nbVisited = 1; queueSize > 0; nbVisited++) {
+            if (nbVisited % CANCELLATION_POLL_INTERVAL == 0) {
+                checkCancelled();
+            }
+            current = dequeue();
+            if (current == target) {
+                break;
             }
-            distance++;
+            visitNeighbors(current);
         }
 
-        return -1;
+        endSearch(current);
+        return current;
     }
 
-    private void initializeSearchingVariables(Coordinates start) {
-        queue = new LinkedList<>();
-        visited = new boolean[board.length][board[0].length];
+    /**
+     * The marks of the cancelled search are left behind the next search
+     * base, so they are ignored by the next searches.
+     */
+    private void checkCancelled() {
+        if (isCancelled.getAsBoolean()) {
+            nextSearchBase = searchBase + marks.length + 1;
+            lastSearchStart = NO_CELL;
+            throw new CancellationException("The search was cancelled");
+        }
+    }
+
+    private void beginSearch(int start) {
+        if (marks == null) {
+            marks = new int[width * height];
+        }
+        if (nextSearchBase > Integer.MAX_VALUE - marks.length - 1) {
+            // The marks are about to overflow, forget all the previous searches
+            Arrays.fill(marks, 0);
+            nextSearchBase = 1;
+        }
+        searchBase = nextSearchBase;
+        lastSearchStart = start;
+        queueHead = 0;
+        queueSize = 0;
+
+        marks[start] = searchBase;
+        enqueue(start);
+    }
+
+    /**
+     * The queued cells are at most one step further than the last visited
+     * one, so the marks of the next search start after them.
+     */
+    private void endSearch(int lastVisitedCell) {
+        nextSearchBase = marks[lastVisitedCell] + 2;
+    }
+
+    /**
+     * Visits the neighbors in the order up, down, left, right.
+     */
+    private void visitNeighbors(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        int distance = getSearchedDistance(cell) + 1;
 
-        queue.add(start);
-        visited[start.getY()][start.getX()] = true;
+        if (y > 0) {
+            visitNeighbor(cell - width, distance);
+        }
+        if (y < height - 1) {
+            visitNeighbor(cell + width, distance);
+        }
+        if (x > 0) {
+            visitNeighbor(cell - 1, distance);
+        }
+        if (x < width - 1) {
+            visitNeighbor(cell + 1, distance);
+        }
     }
 
-    private void handleNeighbor(Coordinates current, Direction direction) {
-        Coordinates newPosition = new Coordinates(current.getX() + direction.getStep(), current.getY());
-        if (direction == Direction.UP || direction == Direction.DOWN) {
-            newPosition = new Coordinates(current.getX(), current.getY() + direction.getStep());
+    private void visitNeighbor(int neighbor, int distance) {
+        if (isVisited(neighbor) || board.isWall(neighbor % width, neighbor / width)) {
+            return;
         }
+        marks[neighbor] = searchBase + distance;
+        enqueue(neighbor);
+    }
+
+    private boolean isVisited(int cell) {
+        return marks != null && marks[cell] >= searchBase;
+    }
+
+    private int getSearchedDistance(int cell) {
+        return marks[cell] - searchBase;
+    }
 
-        if (isPossibleNeighbor(newPosition)) {
-            queue.add(newPosition);
-            visited[newPosition.getY()][newPosition.getX()] = true;
+    private void enqueue(int cell) {
+        if (queueSize == queue.length) {
+            growQueue();
         }
+        queue[(queueHead + queueSize) % queue.length] = cell;
+        queueSize++;
     }
 
-    private boolean isPossibleNeighbor(Coordinates position) {
-        return isInsideBoard(position) && !visited[position.getY()][position.getX()] && !isWall(position);
+    private int dequeue() {
+        int cell = queue[queueHead];
+        queueHead = (queueHead + 1) % queue.length;
+        queueSize--;
+        return cell;
     }
 
-    private boolean isInsideBoard(Coordinates position) {
-        return position.getX() >= 0 && position.getX() < board[0].length && position.getY() >= 0
-                && position.getY() < board.length;
+    /**
+     * Doubles the capacity of the queue, unrolling the ring at the beginning of
+     * the new buffer.
+     */
+    private void growQueue() {
+        int[] newQueue = new int[queue.length * 2];
+        int firstPartLength = queue.length - queueHead;
+        System.arraycopy(queue, queueHead, newQueue, 0, firstPartLength);
+        System.arraycopy(queue, 0, newQueue, firstPartLength, queueHead);
+        queue = newQueue;
+        queueHead = 0;
     }
 
-    private boolean isWall(Coordinates position) {
-        return !board[position.getY()][position.getX()];
+    private int toIndex(Coordinates coordinates) {
+        return coordinates.getY() * width + coordinates.getX();
+    }
+
+    private Coordinates toCoordinates(int cell) {
+        return new Coordinates(cell % width, cell / width);
     }
 
     /**
      * Returns the closest cell to the top left corner of the board. It is used
      * to find the entrance cell of the maze. The algorithm prioritizes
      * rows.
-     *
+     * 
      * @return the closes cell to the top left corner of the board
      */
 
     public Coordinates getClosestToTopCell() {
-        for (int row = 1; row < board.length - 1; row++) {
-            for (int col = 1; col < board[0].length - 1; col++) {
-                if (board[row][col]) {
+        for (int row = 1; row < board.getHeight() - 1; row++) {
+            for (int col = 1; col < board.getWidth() - 1; col++) {
+                if (board.isPath(col, row)) {
+                    return new Coordinates(col, row);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the closest cell to the bottom right corner of the board. The
+     * algorithm prioritizes rows. Unlike {@link #getFurthestCell(Coordinates)},
+     * it only reads the last rows of a maze, so it is cheap even on gigantic
+     * boards.
+     * 
+     * @return the closest cell to the bottom right corner of the board
+     */
+    public Coordinates getClosestToBottomCell() {
+        for (int row = board.getHeight() - 2; row > 0; row--) {
+            for (int col = board.getWidth() - 2; col > 0; col--) {
+                if (board.isPath(col, row)) {
                     return new Coordinates(col, row);
                 }
             }
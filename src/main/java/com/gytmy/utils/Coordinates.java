@@ -37,6 +37,33 @@ public class Coordinates {
         this.y = y;
     }
 
+    /**
+     * Cells are also identified by a single int, their index in the row by row
+     * order of the board. It is the form used by the searches and on the
+     * movement path, where no {@code Coordinates} is allocated.
+     * 
+     * @param x
+     * @param y
+     * @param width the width of the board
+     * @return the index of the cell, {@code y * width + x}
+     */
+    public static int toIndex(int x, int y, int width) {
+        return y * width + x;
+    }
+
+    public int toIndex(int width) {
+        return toIndex(x, y, width);
+    }
+
+    /**
+     * @param index the index of a cell, {@code y * width + x}
+     * @param width the width of the board
+     * @return the coordinates of the cell
+     */
+    public static Coordinates fromIndex(int index, int width) {
+        return new Coordinates(index % width, index / width);
+    }
+
     /**
      * @return A copy of these coordinates
      */
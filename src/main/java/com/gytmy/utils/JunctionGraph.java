@@ -0,0 +1,569 @@
+package com.gytmy.utils;
+
+import java.util.Arrays;
+
+import com.gytmy.maze.model.board.Board;
+
+/**
+ * Compressed view of the board of a maze. The nodes of the graph are the path
+ * cells which do not have exactly two path neighbors, i.e. the intersections
+ * and the dead ends. The corridors joining them become weighted edges, their
+ * weight being their length in cells. A perfect maze is mostly made of long
+ * corridors, so the graph is much smaller than the board and the searches run
+ * on it instead of on the cells.
+ * 
+ * The graph is stored in primitive arrays: the cells of the nodes in
+ * increasing order, so that the node of a cell is found by binary search, and
+ * the edges of each node one after the other (the edges of the node
+ * {@code n} being the indices {@code edgeOffsets[n]} to
+ * {@code edgeOffsets[n + 1]} of {@code edgeTargets} and {@code edgeLengths}).
+ * 
+ * A cell inside a corridor is located by walking the corridor up to its two
+ * nodes. Like the {@link CellFinder}, the searches reuse their buffers and
+ * write {@code searchBase + distance} in the marks of the nodes they reach, so
+ * the marks never need to be cleared.
+ */
+public class JunctionGraph {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NB_DIRECTIONS = 4;
+    private static final int NO_CELL = -1;
+
+    private final Board board;
+    private final int width;
+    private final int height;
+
+    private int[] nodeCells = new int[INITIAL_CAPACITY];
+    private int nbNodes;
+    private int[] edgeOffsets;
+    private int[] edgeTargets;
+    private int[] edgeLengths;
+
+    // Result of the last walk along a corridor
+    private int walkLength;
+    private int walkTargetDistance;
+
+    // Result of the last location of a cell: at most two nodes and the
+    // distances to them, and the distance to the target cell if it was met
+    private final int[] locatedNodes = new int[2];
+    private final int[] locatedOffsets = new int[2];
+    private int nbLocatedNodes;
+    private int directDistance;
+
+    private final int[] targetNodes = new int[2];
+    private final int[] targetOffsets = new int[2];
+    private int nbTargetNodes;
+
+    private int[] marks;
+    private int searchBase;
+    private int nextSearchBase = 1;
+    private final LongHeap heap = new LongHeap();
+
+    public JunctionGraph(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        findNodes();
+        findEdges();
+    }
+
+    private void findNodes() {
+        for (int cell = 0; cell < width * height; cell++) {
+            if (board.isPath(cell % width, cell / width) && isNode(cell)) {
+                if (nbNodes == nodeCells.length) {
+                    nodeCells = Arrays.copyOf(nodeCells, nbNodes * 2);
+                }
+                nodeCells[nbNodes++] = cell;
+            }
+        }
+        nodeCells = Arrays.copyOf(nodeCells, nbNodes);
+    }
+
+    /**
+     * Follows every corridor leaving every node, so each corridor is stored
+     * once from each of its ends.
+     */
+    private void findEdges() {
+        edgeOffsets = new int[nbNodes + 1];
+        for (int node = 0; node < nbNodes; node++) {
+            edgeOffsets[node + 1] = edgeOffsets[node] + getDegree(nodeCells[node]);
+        }
+        edgeTargets = new int[edgeOffsets[nbNodes]];
+        edgeLengths = new int[edgeOffsets[nbNodes]];
+
+        for (int node = 0; node < nbNodes; node++) {
+            int edge = edgeOffsets[node];
+            for (int direction = 0; direction < NB_DIRECTIONS; direction++) {
+                int neighbor = getPathNeighbor(nodeCells[node], direction);
+                if (neighbor != NO_CELL) {
+                    edgeTargets[edge] = getNode(walkCorridor(nodeCells[node], neighbor, NO_CELL));
+                    edgeLengths[edge] = walkLength;
+                    edge++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks along a corridor up to the next node.
+     * 
+     * @param previous the cell the walk comes from
+     * @param current  the first cell of the walk, a neighbor of the previous
+     *                 one
+     * @param target   a cell whose distance is kept in
+     *                 {@code walkTargetDistance} if the walk goes through it
+     * @return the cell of the node ending the corridor, its distance being kept
+     *         in {@code walkLength}; {@code NO_CELL} if the corridor is a loop
+     *         without any node
+     */
+    private int walkCorridor(int previous, int current, int target) {
+        int origin = previous;
+        walkLength = 1;
+        walkTargetDistance = current == target ? 1 : -1;
+        int next = getNextInCorridor(current, previous);
+        while (next != NO_CELL) {
+            previous = current;
+            current = next;
+            walkLength++;
+            if (current == target) {
+                walkTargetDistance = walkLength;
+            }
+            if (current == origin && !isNode(origin)) {
+                return NO_CELL;
+            }
+            next = getNextInCorridor(current, previous);
+        }
+        return current;
+    }
+
+    private boolean isNode(int cell) {
+        return getDegree(cell) != 2;
+    }
+
+    private int getDegree(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        int degree = 0;
+        if (y > 0 && board.isPath(x, y - 1)) {
+            degree++;
+        }
+        if (y < height - 1 && board.isPath(x, y + 1)) {
+            degree++;
+        }
+        if (x > 0 && board.isPath(x - 1, y)) {
+            degree++;
+        }
+        if (x < width - 1 && board.isPath(x + 1, y)) {
+            degree++;
+        }
+        return degree;
+    }
+
+    /**
+     * Finds the neighbors of a cell in a single pass, the walks along the
+     * corridors being the most expensive part of the construction.
+     * 
+     * @param cell     a path cell
+     * @param previous the neighbor the walk comes from
+     * @return the other path neighbor if the cell is in a corridor;
+     *         {@code NO_CELL} if the cell is a node
+     */
+    private int getNextInCorridor(int cell, int previous) {
+        int degree = 0;
+        int next = NO_CELL;
+        for (int direction = 0; direction < NB_DIRECTIONS; direction++) {
+            int neighbor = getPathNeighbor(cell, direction);
+            if (neighbor != NO_CELL) {
+                degree++;
+                if (neighbor != previous) {
+                    next = neighbor;
+                }
+            }
+        }
+        return degree == 2 ? next : NO_CELL;
+    }
+
+    /**
+     * @param direction 0 for up, 1 for down, 2 for left and 3 for right
+     * @return the neighbor in the direction; {@code NO_CELL} if it is outside
+     *         the board or a wall
+     */
+    private int getPathNeighbor(int cell, int direction) {
+        int x = cell % width;
+        int y = cell / width;
+        switch (direction) {
+            case 0:
+                return y > 0 && board.isPath(x, y - 1) ? cell - width : NO_CELL;
+            case 1:
+                return y < height - 1 && board.isPath(x, y + 1) ? cell + width : NO_CELL;
+            case 2:
+                return x > 0 && board.isPath(x - 1, y) ? cell - 1 : NO_CELL;
+            default:
+                return x < width - 1 && board.isPath(x + 1, y) ? cell + 1 : NO_CELL;
+        }
+    }
+
+    public int getNbNodes() {
+        return nbNodes;
+    }
+
+    /**
+     * @return the number of corridors, each one being stored from both ends
+     */
+    public int getNbEdges() {
+        return edgeTargets.length / 2;
+    }
+
+    /**
+     * @param node
+     * @return the index ({@code y * width + x}) of the cell of the node
+     */
+    public int getNodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    /**
+     * @param cell the index ({@code y * width + x}) of a cell
+     * @return the node of the cell; -1 if the cell is not a node
+     */
+    public int getNode(int cell) {
+        int node = Arrays.binarySearch(nodeCells, cell);
+        return node < 0 ? -1 : node;
+    }
+
+    public int getNbEdges(int node) {
+        return edgeOffsets[node + 1] - edgeOffsets[node];
+    }
+
+    /**
+     * @param node
+     * @param index the index of the edge among the edges of the node
+     * @return the node at the other end of the edge
+     */
+    public int getEdgeTarget(int node, int index) {
+        return edgeTargets[edgeOffsets[node] + index];
+    }
+
+    /**
+     * @param node
+     * @param index the index of the edge among the edges of the node
+     * @return the length in cells of the corridor of the edge
+     */
+    public int getEdgeLength(int node, int index) {
+        return edgeLengths[edgeOffsets[node] + index];
+    }
+
+    /**
+     * Locates a cell in the graph, keeping the result in {@code locatedNodes}
+     * and {@code locatedOffsets}: the node of the cell or the nodes at both
+     * ends of its corridor, with their distances to the cell.
+     * 
+     * @param cell   a path cell
+     * @param target a cell whose distance to the located cell is kept in
+     *               {@code directDistance} if they are in the same corridor
+     */
+    private void locate(int cell, int target) {
+        directDistance = cell == target ? 0 : -1;
+        nbLocatedNodes = 0;
+        if (isNode(cell)) {
+            locatedNodes[nbLocatedNodes] = getNode(cell);
+            locatedOffsets[nbLocatedNodes++] = 0;
+            return;
+        }
+        for (int direction = 0; direction < NB_DIRECTIONS; direction++) {
+            int neighbor = getPathNeighbor(cell, direction);
+            if (neighbor == NO_CELL) {
+                continue;
+            }
+            int end = walkCorridor(cell, neighbor, target);
+            if (walkTargetDistance >= 0 && (directDistance < 0 || walkTargetDistance < directDistance)) {
+                directDistance = walkTargetDistance;
+            }
+            if (end != NO_CELL) {
+                locatedNodes[nbLocatedNodes] = getNode(end);
+                locatedOffsets[nbLocatedNodes++] = walkLength;
+            }
+        }
+    }
+
+    /**
+     * Computes the distance between two cells with Dijkstra's algorithm on the
+     * graph.
+     * 
+     * @param start the starting cell
+     * @param end   the ending cell
+     * @return the distance between the two cells; -1 if one of them is a wall
+     *         or they are not connected
+     * @see <a href=
+     *      "https://en.wikipedia.org/wiki/Dijkstra%27s_algorithm">Dijkstra's
+     *      algorithm</a>
+     */
+    public int getDistance(Coordinates start, Coordinates end) {
+        if (board.isWall(start.getX(), start.getY()) || board.isWall(end.getX(), end.getY())) {
+            return -1;
+        }
+        locate(toIndex(end), NO_CELL);
+        nbTargetNodes = nbLocatedNodes;
+        System.arraycopy(locatedNodes, 0, targetNodes, 0, nbLocatedNodes);
+        System.arraycopy(locatedOffsets, 0, targetOffsets, 0, nbLocatedNodes);
+
+        locate(toIndex(start), toIndex(end));
+        int shortest = directDistance < 0 ? Integer.MAX_VALUE : directDistance;
+        shortest = search(shortest);
+        return shortest == Integer.MAX_VALUE ? -1 : shortest;
+    }
+
+    /**
+     * Dijkstra's algorithm from the located nodes, stopped once the nodes left
+     * are further than the shortest path to the target nodes found so far.
+     * 
+     * @param shortest the length of a path already known between the cells
+     * @return the length of the shortest path between the cells
+     */
+    private int search(int shortest) {
+        beginSearch();
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int node = LongHeap.getValue(entry);
+            int distance = LongHeap.getKey(entry);
+            if (distance >= shortest) {
+                break;
+            }
+            if (distance != getSearchedDistance(node)) {
+                continue;
+            }
+            for (int target = 0; target < nbTargetNodes; target++) {
+                if (targetNodes[target] == node) {
+                    shortest = Math.min(shortest, distance + targetOffsets[target]);
+                }
+            }
+            visitEdges(node, distance);
+        }
+        return shortest;
+    }
+
+    /**
+     * Computes the distances from a cell to every node of the graph, e.g. the
+     * distances to the exit of the maze. They take 4 bytes per node instead of
+     * 4 bytes per cell.
+     * 
+     * @param source the cell the distances are computed from
+     * @return the distances
+     */
+    public DistanceField getDistanceField(Coordinates source) {
+        int sourceCell = toIndex(source);
+        int[] distances = new int[nbNodes];
+        Arrays.fill(distances, -1);
+        if (board.isPath(source.getX(), source.getY())) {
+            locate(sourceCell, NO_CELL);
+            beginSearch();
+            while (!heap.isEmpty()) {
+                long entry = heap.pop();
+                int node = LongHeap.getValue(entry);
+                int distance = LongHeap.getKey(entry);
+                if (distance == getSearchedDistance(node)) {
+                    distances[node] = distance;
+                    visitEdges(node, distance);
+                }
+            }
+        }
+        return new DistanceField(sourceCell, distances);
+    }
+
+    /**
+     * @param field the distances from the source cell
+     * @param cell
+     * @return the distance between the cell and the source of the field; -1 if
+     *         the cell is a wall or cannot reach the source
+     */
+    public int getDistance(DistanceField field, Coordinates cell) {
+        if (board.isWall(cell.getX(), cell.getY())) {
+            return -1;
+        }
+        return getDistance(field, toIndex(cell));
+    }
+
+    /**
+     * @param field the distances from the source cell
+     * @param cell  the index of a path cell
+     * @return the distance between the cell and the source of the field; -1 if
+     *         the cell cannot reach the source
+     */
+    private int getDistance(DistanceField field, int cell) {
+        locate(cell, field.source);
+        int shortest = directDistance < 0 ? Integer.MAX_VALUE : directDistance;
+        for (int i = 0; i < nbLocatedNodes; i++) {
+            int distance = field.distances[locatedNodes[i]];
+            if (distance >= 0) {
+                shortest = Math.min(shortest, distance + locatedOffsets[i]);
+            }
+        }
+        return shortest == Integer.MAX_VALUE ? -1 : shortest;
+    }
+
+    /**
+     * Gets a shortest path from a cell to the source of a field. Inside a
+     * corridor, the path goes on to the neighbor it does not come from, since
+     * the distances change by one at each step; only at the nodes and at the
+     * first cell are the distances of the neighbors compared.
+     * 
+     * @param field the distances from the source cell
+     * @param from  the first cell of the path
+     * @return the indices ({@code y * width + x}) of the cells of the path,
+     *         from the given cell to the source; null if the cell is a wall or
+     *         cannot reach the source
+     */
+    public int[] getPathToSource(DistanceField field, Coordinates from) {
+        int distance = getDistance(field, from);
+        if (distance < 0) {
+            return null;
+        }
+        int[] path = new int[distance + 1];
+        path[0] = toIndex(from);
+        for (int index = 1; index < path.length; index++) {
+            int cell = path[index - 1];
+            if (index > 1 && !isNode(cell)) {
+                path[index] = getNextInCorridor(cell, path[index - 2]);
+            } else {
+                path[index] = getCloserNeighbor(field, cell, distance - index);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * @param closerDistance the distance to the source of the neighbor to find
+     * @return the neighbor of the cell at the given distance to the source
+     */
+    private int getCloserNeighbor(DistanceField field, int cell, int closerDistance) {
+        for (int direction = 0; direction < NB_DIRECTIONS; direction++) {
+            int neighbor = getPathNeighbor(cell, direction);
+            if (neighbor != NO_CELL && getDistance(field, neighbor) == closerDistance) {
+                return neighbor;
+            }
+        }
+        throw new IllegalStateException("The distance field is not the one of this graph");
+    }
+
+    /**
+     * Starts a search from the located nodes.
+     */
+    private void beginSearch() {
+        if (marks == null) {
+            marks = new int[nbNodes];
+        }
+        if (nextSearchBase > Integer.MAX_VALUE - width * height - 1) {
+            // The marks are about to overflow, forget all the previous searches
+            Arrays.fill(marks, 0);
+            nextSearchBase = 1;
+        }
+        searchBase = nextSearchBase;
+        heap.clear();
+        for (int i = 0; i < nbLocatedNodes; i++) {
+            relax(locatedNodes[i], locatedOffsets[i]);
+        }
+    }
+
+    private void visitEdges(int node, int distance) {
+        for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+            relax(edgeTargets[edge], distance + edgeLengths[edge]);
+        }
+    }
+
+    private void relax(int node, int distance) {
+        int currentDistance = getSearchedDistance(node);
+        if (currentDistance >= 0 && currentDistance <= distance) {
+            return;
+        }
+        marks[node] = searchBase + distance;
+        nextSearchBase = Math.max(nextSearchBase, marks[node] + 1);
+        heap.push(distance, node);
+    }
+
+    /**
+     * @return the distance found by the current search; -1 if the node was
+     *         not reached yet
+     */
+    private int getSearchedDistance(int node) {
+        return marks[node] >= searchBase ? marks[node] - searchBase : -1;
+    }
+
+    /**
+     * Dead-end pruning: removes the nodes of the branches leading only to dead
+     * ends, repeatedly, until the only dead ends left are the kept cells. In a
+     * perfect maze, the nodes left are the ones on the path between the two
+     * kept cells, e.g. the solution of the maze.
+     * 
+     * @param keptCells the cells whose nodes must not be removed
+     * @return for each node, true if it is left; false if it was removed
+     */
+    public boolean[] pruneDeadEnds(Coordinates... keptCells) {
+        boolean[] kept = getNodesOf(keptCells);
+        int[] degrees = new int[nbNodes];
+        int[] deadEnds = new int[nbNodes];
+        int nbDeadEnds = 0;
+        for (int node = 0; node < nbNodes; node++) {
+            degrees[node] = getNbEdges(node);
+            if (degrees[node] <= 1 && !kept[node]) {
+                deadEnds[nbDeadEnds++] = node;
+            }
+        }
+
+        boolean[] left = new boolean[nbNodes];
+        Arrays.fill(left, true);
+        while (nbDeadEnds > 0) {
+            int node = deadEnds[--nbDeadEnds];
+            left[node] = false;
+            for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+                int target = edgeTargets[edge];
+                if (target != node && left[target] && --degrees[target] == 1 && !kept[target]) {
+                    deadEnds[nbDeadEnds++] = target;
+                }
+            }
+        }
+        return left;
+    }
+
+    /**
+     * @return for each node, true if it is the node of one of the cells or at
+     *         an end of the corridor of one of the cells
+     */
+    private boolean[] getNodesOf(Coordinates[] cells) {
+        boolean[] nodes = new boolean[nbNodes];
+        for (Coordinates cell : cells) {
+            locate(toIndex(cell), NO_CELL);
+            for (int i = 0; i < nbLocatedNodes; i++) {
+                nodes[locatedNodes[i]] = true;
+            }
+        }
+        return nodes;
+    }
+
+    private int toIndex(Coordinates coordinates) {
+        return coordinates.getY() * width + coordinates.getX();
+    }
+
+    /**
+     * Distances from a cell to every node of a graph, computed by
+     * {@link JunctionGraph#getDistanceField(Coordinates)}.
+     */
+    public static class DistanceField {
+
+        private final int source;
+        private final int[] distances;
+
+        private DistanceField(int source, int[] distances) {
+            this.source = source;
+            this.distances = distances;
+        }
+
+        /**
+         * @param node
+         * @return the distance between the source and the node; -1 if the
+         *         node cannot reach the source
+         */
+        public int getDistanceToNode(int node) {
+            return distances[node];
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.gytmy.utils;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of non-negative int values ordered by non-negative int
+ * keys, used as the priority queue of the searches. Each entry is packed in a
+ * long, the key in the high half and the value in the low half, so that the
+ * heap is a single primitive array reused from one search to another.
+ * Entries of equal keys are ordered by value.
+ */
+class LongHeap {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] entries = new long[INITIAL_CAPACITY];
+    private int size;
+
+    static int getKey(long entry) {
+        return (int) (entry >>> Integer.SIZE);
+    }
+
+    static int getValue(long entry) {
+        return (int) entry;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void push(int key, int value) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        long entry = ((long) key << Integer.SIZE) | value;
+        int index = size++;
+        while (index > 0 && entries[(index - 1) / 2] > entry) {
+            entries[index] = entries[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        entries[index] = entry;
+    }
+
+    /**
+     * @return the entry of the smallest key, removed from the heap
+     */
+    long pop() {
+        long top = entries[0];
+        long last = entries[--size];
+        int index = 0;
+        int child = 1;
+        while (child < size) {
+            if (child + 1 < size && entries[child + 1] < entries[child]) {
+                child++;
+            }
+            if (entries[child] >= last) {
+                break;
+            }
+            entries[index] = entries[child];
+            index = child;
+            child = 2 * index + 1;
+        }
+        entries[index] = last;
+        return top;
+    }
+}
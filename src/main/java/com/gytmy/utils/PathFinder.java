@@ -0,0 +1,310 @@
+package com.gytmy.utils;
+
+import java.util.Arrays;
+
+import com.gytmy.maze.model.board.Board;
+
+/**
+ * This class is used to find a shortest path between two cells of the board,
+ * e.g. to show a hint to a player or to replay the solution of a maze. The
+ * paths are returned as arrays of cell indices ({@code y * width + x}) from
+ * the starting cell to the ending cell.
+ * 
+ * Two searches are available: a bidirectional breadth-first search and A*
+ * guided by the Manhattan distance. Like the {@link CellFinder}, a finder
+ * reuses its buffers from one search to another. The marks hold
+ * {@code searchBase + distance} for the cells reached from the starting cell
+ * and its opposite for the cells reached from the ending cell, so they never
+ * need to be cleared. The path is rebuilt from the marks, stepping to a
+ * neighbor one step closer to the end of the search each time, instead of
+ * storing the parent of every cell. The only allocation of a search is the
+ * returned path.
+ */
+public class PathFinder {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NB_NEIGHBORS = 4;
+    private static final int NO_CELL = -1;
+
+    private final Board board;
+    private final int width;
+    private final int height;
+
+    private int[] marks;
+    private int searchBase;
+    private int nextSearchBase = 1;
+
+    private final int[] neighbors = new int[NB_NEIGHBORS];
+    private final IntQueue forwardQueue = new IntQueue();
+    private final IntQueue backwardQueue = new IntQueue();
+    private int meetingForward;
+    private int meetingBackward;
+
+    private final LongHeap heap = new LongHeap();
+
+    public PathFinder(Board board) {
+        this.board = board;
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+    }
+
+    /**
+     * Finds a shortest path with a breadth-first search run from both ends,
+     * always expanding the smallest frontier by a whole level. It is the
+     * fastest search of this class in a maze, where the Manhattan distance of
+     * A* is a poor guide.
+     * 
+     * @param start the starting cell
+     * @param end   the ending cell
+     * @return the cell indices of a shortest path, both cells included; null
+     *         if the ending cell cannot be reached
+     * @see <a href=
+     *      "https://en.wikipedia.org/wiki/Bidirectional_search">Bidirectional
+     *      search</a>
+     */
+    public int[] findPathBidirectional(Coordinates start, Coordinates end) {
+        int startIndex = toIndex(start);
+        int endIndex = toIndex(end);
+        beginSearch(startIndex);
+        if (startIndex == endIndex) {
+            return new int[] { startIndex };
+        }
+        marks[endIndex] = -searchBase;
+        forwardQueue.clear();
+        backwardQueue.clear();
+        forwardQueue.add(startIndex);
+        backwardQueue.add(endIndex);
+
+        boolean met = false;
+        while (!met && !forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if (forwardQueue.size() <= backwardQueue.size()) {
+                met = expandLevel(forwardQueue, true);
+            } else {
+                met = expandLevel(backwardQueue, false);
+            }
+        }
+        return met ? buildPath(meetingForward, meetingBackward) : null;
+    }
+
+    /**
+     * Expands the whole current level of a frontier. Among the edges joining
+     * both frontiers, the one on the shortest path is kept in
+     * {@code meetingForward} and {@code meetingBackward}.
+     * 
+     * @param queue   the frontier
+     * @param forward true for the frontier of the starting cell
+     * @return true if the frontiers have met
+     */
+    private boolean expandLevel(IntQueue queue, boolean forward) {
+        int sign = forward ? 1 : -1;
+        int shortestLength = Integer.MAX_VALUE;
+        for (int remaining = queue.size(); remaining > 0; remaining--) {
+            int cell = queue.poll();
+            int distance = sign * marks[cell] - searchBase + 1;
+            for (int neighbor : getNeighbors(cell)) {
+                if (neighbor == NO_CELL || board.isWall(neighbor % width, neighbor / width)) {
+                    continue;
+                }
+                int otherDistance = forward ? getBackwardDistance(neighbor) : getForwardDistance(neighbor);
+                if (otherDistance >= 0 && distance + otherDistance < shortestLength) {
+                    shortestLength = distance + otherDistance;
+                    meetingForward = forward ? cell : neighbor;
+                    meetingBackward = forward ? neighbor : cell;
+                } else if (otherDistance < 0 && !isReached(neighbor)) {
+                    marks[neighbor] = sign * (searchBase + distance);
+                    updateNextSearchBase(distance);
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return shortestLength != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Finds a shortest path with A*, using the Manhattan distance to the ending
+     * cell as heuristic. The open cells are kept in a {@link LongHeap}, by
+     * estimated length of the path. A cell is pushed again when a shorter way to it is found, the
+     * outdated entries being skipped when they are popped.
+     * 
+     * @param start the starting cell
+     * @param end   the ending cell
+     * @return the cell indices of a shortest path, both cells included; null
+     *         if the ending cell cannot be reached
+     * @see <a href="https://en.wikipedia.org/wiki/A*_search_algorithm">A*
+     *      search algorithm</a>
+     */
+    public int[] findPathAStar(Coordinates start, Coordinates end) {
+        int startIndex = toIndex(start);
+        int endIndex = toIndex(end);
+        beginSearch(startIndex);
+        heap.clear();
+        heap.push(getHeuristic(startIndex, endIndex), startIndex);
+
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int cell = LongHeap.getValue(entry);
+            int distance = getForwardDistance(cell);
+            if (LongHeap.getKey(entry) != distance + getHeuristic(cell, endIndex)) {
+                continue;
+            }
+            if (cell == endIndex) {
+                return buildPath(endIndex, NO_CELL);
+            }
+            for (int neighbor : getNeighbors(cell)) {
+                if (neighbor != NO_CELL && board.isPath(neighbor % width, neighbor / width)
+                        && !isCloser(neighbor, distance + 1)) {
+                    marks[neighbor] = searchBase + distance + 1;
+                    updateNextSearchBase(distance + 1);
+                    heap.push(distance + 1 + getHeuristic(neighbor, endIndex), neighbor);
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isCloser(int cell, int distance) {
+        int currentDistance = getForwardDistance(cell);
+        return currentDistance >= 0 && currentDistance <= distance;
+    }
+
+    private int getHeuristic(int cell, int end) {
+        return Math.abs(cell % width - end % width) + Math.abs(cell / width - end / width);
+    }
+
+    /**
+     * Rebuilds the path going through the given cells from the marks.
+     * 
+     * @param forwardCell  a cell reached from the starting cell
+     * @param backwardCell the next cell of the path, reached from the ending
+     *                     cell, or {@code NO_CELL} if the forward cell is the
+     *                     ending cell
+     * @return the path
+     */
+    private int[] buildPath(int forwardCell, int backwardCell) {
+        int forwardDistance = getForwardDistance(forwardCell);
+        int backwardDistance = backwardCell == NO_CELL ? -1 : getBackwardDistance(backwardCell);
+        int[] path = new int[forwardDistance + backwardDistance + 2];
+
+        path[forwardDistance] = forwardCell;
+        for (int index = forwardDistance - 1; index >= 0; index--) {
+            path[index] = findNeighborAtDistance(path[index + 1], index, true);
+        }
+        if (backwardCell != NO_CELL) {
+            path[forwardDistance + 1] = backwardCell;
+            for (int index = forwardDistance + 2; index < path.length; index++) {
+                path[index] = findNeighborAtDistance(path[index - 1], path.length - 1 - index, false);
+            }
+        }
+        return path;
+    }
+
+    private int findNeighborAtDistance(int cell, int distance, boolean forward) {
+        for (int neighbor : getNeighbors(cell)) {
+            if (neighbor != NO_CELL
+                    && (forward ? getForwardDistance(neighbor) : getBackwardDistance(neighbor)) == distance) {
+                return neighbor;
+            }
+        }
+        throw new IllegalStateException("The path is broken");
+    }
+
+    private void beginSearch(int start) {
+        if (marks == null) {
+            marks = new int[width * height];
+        }
+        if (nextSearchBase > Integer.MAX_VALUE - marks.length - 1) {
+            // The marks are about to overflow, forget all the previous searches
+            Arrays.fill(marks, 0);
+            nextSearchBase = 1;
+        }
+        searchBase = nextSearchBase;
+        nextSearchBase = searchBase + 1;
+        marks[start] = searchBase;
+    }
+
+    private void updateNextSearchBase(int distance) {
+        nextSearchBase = Math.max(nextSearchBase, searchBase + distance + 1);
+    }
+
+    private boolean isReached(int cell) {
+        return marks[cell] >= searchBase || marks[cell] <= -searchBase;
+    }
+
+    /**
+     * @return the distance from the starting cell; -1 if it was not reached
+     *         from the starting cell
+     */
+    private int getForwardDistance(int cell) {
+        return marks[cell] >= searchBase ? marks[cell] - searchBase : -1;
+    }
+
+    /**
+     * @return the distance from the ending cell; -1 if it was not reached from
+     *         the ending cell
+     */
+    private int getBackwardDistance(int cell) {
+        return marks[cell] <= -searchBase ? -marks[cell] - searchBase : -1;
+    }
+
+    /**
+     * The neighbors are written in a reused array, {@code NO_CELL} standing
+     * for a neighbor outside the board. The array is only valid until the
+     * next call.
+     */
+    private int[] getNeighbors(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        neighbors[0] = y > 0 ? cell - width : NO_CELL;
+        neighbors[1] = y < height - 1 ? cell + width : NO_CELL;
+        neighbors[2] = x > 0 ? cell - 1 : NO_CELL;
+        neighbors[3] = x < width - 1 ? cell + 1 : NO_CELL;
+        return neighbors;
+    }
+
+    private int toIndex(Coordinates coordinates) {
+        return coordinates.toIndex(width);
+    }
+
+    /**
+     * Growable ring buffer of ints.
+     */
+    private static class IntQueue {
+
+        private int[] elements = new int[INITIAL_CAPACITY];
+        private int head;
+        private int size;
+
+        private void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void add(int element) {
+            if (size == elements.length) {
+                int[] newElements = new int[elements.length * 2];
+                int firstPartLength = elements.length - head;
+                System.arraycopy(elements, head, newElements, 0, firstPartLength);
+                System.arraycopy(elements, 0, newElements, firstPartLength, head);
+                elements = newElements;
+                head = 0;
+            }
+            elements[(head + size) % elements.length] = element;
+            size++;
+        }
+
+        private int poll() {
+            int element = elements[head];
+            head = (head + 1) % elements.length;
+            size--;
+            return element;
+        }
+    }
+}
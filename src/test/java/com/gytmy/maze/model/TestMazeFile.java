@@ -0,0 +1,130 @@
+package com.gytmy.maze.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.board.BoardFile;
+import com.gytmy.maze.model.board.MappedBoard;
+import com.gytmy.maze.model.generators.EllerGenerator;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.utils.Coordinates;
+
+public class TestMazeFile {
+
+    @Test
+    public void testWriteAndReadWithSpecification() throws IOException {
+        MazeSpecification specification = new MazeSpecification(GeneratorType.DEPTH_FIRST, 37, 23, 7)
+                .withStart(new Coordinates(2, 4));
+        MazeLayout layout = MazeModelFactory.generateLayout(specification);
+
+        Path path = Files.createTempFile("maze", ".gmz");
+        try {
+            new MazeFile(layout, null).write(path);
+            MazeFile file = MazeFile.read(path);
+
+            assertSameLayout(layout, file.getLayout());
+            assertEquals(specification, file.getLayout().getSpecification());
+            assertNull(file.getDistancesToExit());
+
+            // The board is mapped as the one of any board file
+            assertArrayEquals(layout.getBoard().toArray(), MappedBoard.open(path).toArray());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testSaveAndLoadMazeWithDistances() throws IOException {
+        // An even size is increased by one, the specification keeps it
+        MazeSpecification specification = new MazeSpecification(GeneratorType.WILSON, 28, 31, 3);
+        MazeModel model = MazeModelFactory.createMaze(specification, null, null);
+
+        Path path = Files.createTempFile("maze", ".gmz");
+        try {
+            MazeModelFactory.saveMaze(path, model, true);
+            MazeModel loaded = MazeModelFactory.loadMaze(path, null, null);
+            MazeFile file = MazeFile.read(path);
+
+            assertSameLayout(MazeLayout.of(model), MazeLayout.of(loaded));
+            assertEquals(specification, loaded.getSpecification());
+            assertArrayEquals(model.getDistancesToExit(), loaded.getDistancesToExit());
+            for (int y = 0; y < 31; y++) {
+                for (int x = 0; x < 29; x++) {
+                    assertEquals(model.getDistanceToExit(x, y), loaded.getDistanceToExit(x, y));
+                    assertEquals(model.getDistanceToExit(x, y), file.getDistancesToExit()[y * 29 + x]);
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testSaveMazeWithoutSpecification() throws IOException {
+        MazeModel model = MazeModelFactory.createMaze(new EllerGenerator(21, 15), null, null, null, null);
+
+        Path path = Files.createTempFile("maze", ".gmz");
+        try {
+            MazeModelFactory.saveMaze(path, model, false);
+            MazeFile file = MazeFile.read(path);
+
+            assertSameLayout(MazeLayout.of(model), file.getLayout());
+            assertNull(file.getLayout().getSpecification());
+            assertNull(file.getDistancesToExit());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private void assertSameLayout(MazeLayout expected, MazeLayout actual) {
+        assertArrayEquals(expected.getBoard().toArray(), actual.getBoard().toArray());
+        assertEquals(expected.getInitialCell(), actual.getInitialCell());
+        assertEquals(expected.getExitCell(), actual.getExitCell());
+        assertEquals(expected.getMinimumPathLength(), actual.getMinimumPathLength());
+    }
+
+    @Test
+    public void testInvalidFiles() throws IOException {
+        MazeLayout layout = MazeModelFactory.generateLayout(new MazeSpecification(GeneratorType.ELLER, 21, 21, 1));
+        Path path = Files.createTempFile("maze", ".gmz");
+        try {
+            Files.write(path, new byte[] { 1, 2, 3 });
+            assertThrows(IOException.class, () -> MazeFile.read(path));
+
+            new MazeFile(layout, null).write(path);
+            byte[] content = Files.readAllBytes(path);
+
+            // Truncated
+            Files.write(path, Arrays.copyOf(content, content.length - 1));
+            assertThrows(IOException.class, () -> MazeFile.read(path));
+
+            // Unknown version
+            ByteBuffer.wrap(content).putInt(Integer.BYTES, BoardFile.VERSION + 1);
+            Files.write(path, content);
+            assertThrows(IOException.class, () -> MazeFile.read(path));
+
+            // A board file without the extension of a maze file
+            new EllerGenerator(21, 21).generateToFile(path);
+            assertThrows(IOException.class, () -> MazeFile.read(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testInvalidDistances() {
+        MazeLayout layout = MazeModelFactory.generateLayout(new MazeSpecification(GeneratorType.ELLER, 21, 21, 1));
+        assertThrows(IllegalArgumentException.class, () -> new MazeFile(layout, new int[3]));
+        assertThrows(IllegalArgumentException.class, () -> new MazeFile(null, null));
+    }
+}
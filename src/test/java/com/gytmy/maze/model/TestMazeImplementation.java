@@ -3,17 +3,29 @@ package com.gytmy.maze.model;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.Test;
 
 import com.gytmy.TestingUtils;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.board.BoardFile;
+import com.gytmy.maze.model.gamemode.ClassicGameModeData;
+import com.gytmy.maze.model.gamemode.GameMode;
 import com.gytmy.maze.model.generators.BoardGenerator;
 import com.gytmy.maze.model.generators.BorderBoardGenerator;
 import com.gytmy.maze.model.generators.DepthFirstGenerator;
+import com.gytmy.maze.model.generators.EllerGenerator;
 import com.gytmy.maze.model.generators.EmptyBoardGenerator;
 import com.gytmy.maze.model.player.Player;
 import com.gytmy.maze.model.player.PlayerImplementation;
+import com.gytmy.utils.CellFinder;
 import com.gytmy.utils.Coordinates;
 
 public class TestMazeImplementation {
@@ -114,7 +126,7 @@ public class TestMazeImplementation {
         MazeModelImplementation maze = new MazeModelImplementation(
                 generator, initialCell, exitCell, null, null);
 
-        assertArrayEquals(maze.getBoard(), generator.generate());
+        assertArrayEquals(maze.getBoard().toArray(), generator.generate());
     }
 
     @Test
@@ -125,8 +137,8 @@ public class TestMazeImplementation {
                 new DepthFirstGenerator(11, 15), initialCell, exitCell, null, null);
 
         assertEquals(exitCell, maze.getExitCell());
-        assertEquals(11, maze.getBoard()[0].length);
-        assertEquals(15, maze.getBoard().length);
+        assertEquals(11, maze.getBoard().getWidth());
+        assertEquals(15, maze.getBoard().getHeight());
     }
 
     @Test
@@ -381,6 +393,170 @@ public class TestMazeImplementation {
         assertTrue(maze.isPlayerAtExit(playerD));
     }
 
+    @Test
+    public void testDistanceToExit() {
+        MazeModel maze = createMazeWithWalls();
+
+        assertEquals(-1, maze.getDistanceToExit(3, 3));
+        assertEquals(0, maze.getDistanceToExit(maze.getExitCell()));
+        assertEquals(-1, maze.getDistanceToExit(maze.getInitialCell()));
+        assertEquals(-1, maze.getDistanceToExit(0, 0));
+        assertEquals(-1, maze.getDistanceToExit(-1, 7));
+
+        MazeModel emptyMaze = createEmptyMaze();
+        assertEquals(0, emptyMaze.getDistanceToExit(3, 2));
+        assertEquals(3, emptyMaze.getDistanceToExit(1, 1));
+        assertEquals(5, emptyMaze.getDistanceToExit(0, 4));
+        assertEquals(emptyMaze.getMinimumPathLength(), emptyMaze.getDistanceToExit(emptyMaze.getInitialCell()));
+    }
+
+    @Test
+    public void testDistanceToExitOfGeneratedMaze() {
+        MazeModel maze = MazeModelFactory.createMaze(new DepthFirstGenerator(51, 51), null, null, null, null);
+        Board board = maze.getBoard();
+
+        assertEquals(maze.getMinimumPathLength(), maze.getDistanceToExit(maze.getInitialCell()));
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (board.isWall(x, y)) {
+                    assertEquals(-1, maze.getDistanceToExit(x, y));
+                } else {
+                    assertTrue(maze.getDistanceToExit(x, y) >= 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDistanceToExitOfTooLargeBoard() {
+        int size = MazeModelFactory.MAXIMUM_SIZE * 2;
+        // An empty board, too large for its distances to fit in the heap
+        Board board = new Board() {
+            @Override
+            public int getWidth() {
+                return size;
+            }
+
+            @Override
+            public int getHeight() {
+                return size;
+            }
+
+            @Override
+            public boolean isPath(int x, int y) {
+                return true;
+            }
+        };
+        MazeModel maze = new MazeModelImplementation(board, new Coordinates(0, 0), new Coordinates(size - 1, size - 1),
+                null, null);
+
+        assertThrows(IllegalStateException.class, maze::getMinimumPathLength);
+        assertEquals(-1, maze.getDistanceToExit(size, 0));
+    }
+
+    @Test
+    public void testPathToExit() {
+        MazeModel maze = MazeModelFactory.createMaze(new DepthFirstGenerator(31, 21), null, null, null, null);
+        int width = maze.getBoard().getWidth();
+        int[] path = maze.getPathToExit(maze.getInitialCell());
+        int exitCell = maze.getExitCell().getY() * width + maze.getExitCell().getX();
+
+        assertEquals(maze.getMinimumPathLength() + 1, path.length);
+        assertEquals(exitCell, path[path.length - 1]);
+        assertArrayEquals(path, maze.findShortestPath(maze.getInitialCell(), maze.getExitCell()));
+        assertArrayEquals(new int[] { exitCell }, maze.getPathToExit(maze.getExitCell()));
+        assertNull(maze.getPathToExit(new Coordinates(0, 0)));
+        assertNull(maze.findShortestPath(new Coordinates(0, 0), maze.getExitCell()));
+
+        // Read from the distances once they are known, the maze being perfect
+        maze.getDistanceToExit(0, 0);
+        assertArrayEquals(path, maze.getPathToExit(maze.getInitialCell()));
+        assertNull(maze.getPathToExit(new Coordinates(0, 0)));
+    }
+
+    @Test
+    public void testDistancesToExitAreCopied() {
+        MazeModel maze = MazeModelFactory.createMaze(new DepthFirstGenerator(31, 21), null, null, null, null);
+        int[] distances = maze.getDistancesToExit();
+        int exitCell = maze.getExitCell().toIndex(maze.getBoard().getWidth());
+
+        assertEquals(0, distances[exitCell]);
+        distances[exitCell] = 1;
+        assertEquals(0, maze.getDistancesToExit()[exitCell]);
+        assertEquals(0, maze.getDistanceToExit(maze.getExitCell()));
+    }
+
+    @Test
+    public void testFollowPathToExit() {
+        Player player = new PlayerImplementation();
+        MazeModel maze = MazeModelFactory.createMaze(new DepthFirstGenerator(31, 21), null, null,
+                new Player[] { player }, null);
+        int width = maze.getBoard().getWidth();
+        maze.setPlayerCoordinates(player, maze.getInitialCell().getX(), maze.getInitialCell().getY());
+        assertTrue(maze.isInitialCell(player.getX(), player.getY()));
+
+        int[] path = maze.getPathToExit(maze.getInitialCell());
+        for (int index = 1; index < path.length; index++) {
+            assertTrue(maze.movePlayer(player, getDirection(path[index] - path[index - 1], width)));
+            assertEquals(path[index], Coordinates.toIndex(player.getX(), player.getY(), width));
+        }
+        assertTrue(maze.isPlayerAtExit(player));
+        assertTrue(maze.isExitCell(player.getX(), player.getY()));
+        assertEquals(1, maze.getPlayersAtCoordinates(player.getX(), player.getY()).size());
+        assertTrue(maze.getPlayersAtCoordinates(maze.getInitialCell()).isEmpty());
+    }
+
+    private static Direction getDirection(int step, int width) {
+        for (Direction direction : Direction.values()) {
+            if (direction.getDeltaY() * width + direction.getDeltaX() == step) {
+                return direction;
+            }
+        }
+        throw new IllegalArgumentException("Not a step between neighbors: " + step);
+    }
+
+    @Test
+    public void testLargeMazeFromFactory() {
+        int size = MazeModelFactory.MAXIMUM_SIZE;
+        GameData gameData = new GameData(new ClassicGameModeData(size, size), GameMode.CLASSIC, new Player[0]);
+        MazeModel maze = MazeModelFactory.createMaze(gameData);
+
+        assertTrue(MazeModelFactory.isLargeMaze(size, size));
+        assertTrue(maze.getBoard().getWidth() >= size);
+        assertTrue(maze.getBoard().getHeight() >= size);
+        assertTrue(maze.getMinimumPathLength() > 0);
+    }
+
+    @Test
+    public void testIsLargeMaze() {
+        int threshold = MazeModelFactory.LARGE_MAZE_THRESHOLD;
+        assertFalse(MazeModelFactory.isLargeMaze(threshold, threshold));
+        assertTrue(MazeModelFactory.isLargeMaze(threshold + 1, threshold));
+        assertTrue(MazeModelFactory.isLargeMaze(threshold, threshold + 1));
+    }
+
+    @Test
+    public void testOpenMappedMaze() throws IOException {
+        Path path = Files.createTempFile("maze", ".maze");
+        try {
+            new EllerGenerator(101, 61).generateToFile(path);
+            Player player = new PlayerImplementation(new Coordinates(1, 1));
+            MazeModel maze = MazeModelFactory.openMaze(path, new Player[] { player }, null);
+
+            Board expected = BoardFile.read(path);
+            assertArrayEquals(expected.toArray(), maze.getBoard().toArray());
+            assertEquals(new Coordinates(1, 1), maze.getInitialCell());
+            assertEquals(new Coordinates(99, 59), maze.getExitCell());
+            assertEquals(new CellFinder(expected).getDistance(maze.getInitialCell(), maze.getExitCell()),
+                    maze.getMinimumPathLength());
+
+            assertFalse(maze.isMoveValid(player, Direction.UP));
+            assertEquals(maze.isWall(2, 1), !maze.isMoveValid(player, Direction.RIGHT));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
     private BoardGenerator getGenerator(boolean[][] board) {
         return () -> board;
     }
@@ -0,0 +1,95 @@
+package com.gytmy.maze.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.Test;
+
+import com.gytmy.TestingUtils;
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.player.PlayerImplementation;
+import com.gytmy.utils.Coordinates;
+
+public class TestMazeLayoutCache {
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        MazeLayoutCache cache = new MazeLayoutCache(2);
+        MazeSpecification first = new MazeSpecification(GeneratorType.KRUSKAL, 5, 5, 1);
+        MazeSpecification second = new MazeSpecification(GeneratorType.KRUSKAL, 5, 5, 2);
+        MazeSpecification third = new MazeSpecification(GeneratorType.KRUSKAL, 5, 5, 3);
+        MazeLayout layout = createLayout();
+
+        cache.put(first, layout);
+        cache.put(second, layout);
+        assertSame(layout, cache.get(first));
+        cache.put(third, layout);
+
+        assertEquals(2, cache.size());
+        assertSame(layout, cache.get(first));
+        assertNull(cache.get(second));
+        assertSame(layout, cache.get(third));
+    }
+
+    private MazeLayout createLayout() {
+        boolean[][] array = new boolean[][] {
+                { false, false, false },
+                { true, true, true },
+                { false, false, false }
+        };
+        return new MazeLayout(BitPackedBoard.fromArray(array), new Coordinates(0, 1), new Coordinates(2, 1), 2);
+    }
+
+    @Test
+    public void testFactoryReusesCachedLayout() {
+        MazeModelFactory.clearLayoutCache();
+        MazeSpecification specification = new MazeSpecification(GeneratorType.DEPTH_FIRST, 61, 41, 123);
+        Player player = new PlayerImplementation(new Coordinates(1, 1));
+        MazeModel maze = MazeModelFactory.createMaze(specification, new Player[] { player }, null);
+
+        MazeSpecification sameSpecification = new MazeSpecification(GeneratorType.DEPTH_FIRST, 61, 41, 123);
+        MazeModel replay = MazeModelFactory.createMaze(sameSpecification, new Player[] { player }, null);
+
+        assertSame(maze.getBoard(), replay.getBoard());
+        assertEquals(maze.getInitialCell(), replay.getInitialCell());
+        assertEquals(maze.getExitCell(), replay.getExitCell());
+        assertEquals(maze.getMinimumPathLength(), replay.getMinimumPathLength());
+        assertNotSame(maze.getInitialCell(), replay.getInitialCell());
+
+        // A regenerated maze is identical to the cached one
+        MazeModelFactory.clearLayoutCache();
+        MazeModel regenerated = MazeModelFactory.createMaze(specification, new Player[] { player }, null);
+        assertNotSame(maze.getBoard(), regenerated.getBoard());
+        assertEquals(maze.getBoard(), regenerated.getBoard());
+        assertEquals(maze.getExitCell(), regenerated.getExitCell());
+    }
+
+    @Test
+    public void testSpecificationWithStart() {
+        MazeSpecification specification = new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 5)
+                .withStart(new Coordinates(2, 2));
+        MazeModelFactory.clearLayoutCache();
+        MazeModel maze = MazeModelFactory.createMaze(specification, new Player[0], null);
+        MazeModelFactory.clearLayoutCache();
+        MazeModel regenerated = MazeModelFactory.createMaze(specification, new Player[0], null);
+
+        assertEquals(maze.getBoard(), regenerated.getBoard());
+        assertEquals(new Coordinates(2, 2), specification.getStart());
+        TestingUtils.assertArgumentExceptionMessage(
+                () -> new MazeSpecification(GeneratorType.WILSON, 21, 21, 5).withStart(new Coordinates(1, 1)),
+                "The start cell is only supported by the depth-first generator");
+    }
+
+    @Test
+    public void testSpecificationEquality() {
+        MazeSpecification specification = new MazeSpecification(GeneratorType.ELLER, 21, 11, 5);
+        assertEquals(specification, new MazeSpecification(GeneratorType.ELLER, 21, 11, 5));
+        assertEquals(specification.hashCode(), new MazeSpecification(GeneratorType.ELLER, 21, 11, 5).hashCode());
+        TestingUtils.assertArgumentExceptionMessage(() -> new MazeSpecification(null, 21, 11, 5),
+                "The generator type cannot be null");
+    }
+}
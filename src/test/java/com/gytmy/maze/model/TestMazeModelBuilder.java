@@ -0,0 +1,121 @@
+package com.gytmy.maze.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.MazeModelBuilder.Phase;
+import com.gytmy.maze.model.generators.GeneratorType;
+
+public class TestMazeModelBuilder {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test
+    public void testBuildAsync() throws Exception {
+        MazeSpecification specification = new MazeSpecification(GeneratorType.KRUSKAL, 31, 17, 42);
+        MazeModel model = new MazeModelBuilder(specification).buildAsync().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        MazeLayout expected = MazeModelFactory.generateLayout(specification);
+        assertEquals(expected.getBoard(), model.getBoard());
+        assertEquals(expected.getInitialCell(), model.getInitialCell());
+        assertEquals(expected.getExitCell(), model.getExitCell());
+        assertEquals(expected.getMinimumPathLength(), model.getMinimumPathLength());
+    }
+
+    @Test
+    public void testPhasesAreReportedInOrder() throws Exception {
+        List<Phase> phases = new ArrayList<>();
+        new MazeModelBuilder(new MazeSpecification(GeneratorType.ELLER, 21, 21, 1))
+                .setExecutor(Runnable::run)
+                .setProgressListener(phases::add)
+                .buildAsync()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(Phase.values()), phases);
+        assertEquals(0, Phase.GENERATION.getProgress());
+        assertTrue(Phase.MINIMUM_PATH_LENGTH.getProgress() < 100);
+    }
+
+    @Test
+    public void testCancellationStopsTheNextPhases() {
+        List<Phase> phases = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        List<CompletableFuture<MazeModel>> mazes = new ArrayList<>();
+
+        mazes.add(new MazeModelBuilder(new MazeSpecification(GeneratorType.WILSON, 21, 21, 1))
+                .setExecutor(tasks::add)
+                .setProgressListener(phase -> {
+                    phases.add(phase);
+                    if (phase == Phase.INITIAL_CELL) {
+                        mazes.get(0).cancel(false);
+                    }
+                })
+                .buildAsync());
+
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+
+        assertEquals(Arrays.asList(Phase.GENERATION, Phase.INITIAL_CELL), phases);
+        assertTrue(mazes.get(0).isCancelled());
+    }
+
+    @Test
+    public void testCancellationStopsTheGeneration() {
+        List<Phase> phases = new ArrayList<>();
+        List<CompletableFuture<MazeModel>> mazes = new ArrayList<>();
+
+        List<Runnable> tasks = new ArrayList<>();
+
+        mazes.add(new MazeModelBuilder(new MazeSpecification(GeneratorType.KRUSKAL, 301, 301, 1))
+                .setExecutor(tasks::add)
+                .setProgressListener(phase -> {
+                    phases.add(phase);
+                    if (phase == Phase.GENERATION) {
+                        mazes.get(0).cancel(false);
+                    }
+                })
+                .buildAsync());
+
+        // The generation polls the future, so it stops before its end
+        tasks.remove(0).run();
+        assertTrue(tasks.isEmpty());
+        assertEquals(Arrays.asList(Phase.GENERATION), phases);
+        assertTrue(mazes.get(0).isCancelled());
+    }
+
+    @Test
+    public void testFailedPhase() {
+        CompletableFuture<MazeModel> maze = new MazeModelBuilder(
+                new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1))
+                .setProgressListener(phase -> {
+                    if (phase == Phase.EXIT_CELL) {
+                        throw new IllegalStateException("Phase failed");
+                    }
+                })
+                .buildAsync();
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> maze.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new MazeModelBuilder(null));
+        MazeModelBuilder builder = new MazeModelBuilder(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.setProgressListener(null));
+        assertThrows(IllegalArgumentException.class, () -> builder.setExecutor(null));
+    }
+}
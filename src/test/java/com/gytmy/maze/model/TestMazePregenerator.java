@@ -0,0 +1,83 @@
+package com.gytmy.maze.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.gytmy.TestingUtils;
+import com.gytmy.maze.model.gamemode.ClassicGameModeData;
+import com.gytmy.maze.model.gamemode.GameMode;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.player.PlayerImplementation;
+import com.gytmy.utils.Coordinates;
+
+public class TestMazePregenerator {
+
+    @Test
+    public void testTakePregeneratedLayout() {
+        AtomicInteger nbGenerations = new AtomicInteger();
+        MazePregenerator pregenerator = new MazePregenerator(specification -> {
+            nbGenerations.incrementAndGet();
+            return MazeModelFactory.generateLayout(specification);
+        });
+
+        pregenerator.pregenerate(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1));
+        // Same settings, the maze being pre-generated is kept
+        pregenerator.pregenerate(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 2));
+
+        MazeLayout layout = pregenerator.takeLayout(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 3));
+        assertEquals(MazeModelFactory.generateLayout(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1))
+                .getBoard(), layout.getBoard());
+        assertEquals(1, nbGenerations.get());
+
+        // The layout is handed over only once
+        assertNull(pregenerator.takeLayout(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 3)));
+    }
+
+    @Test
+    public void testTakeLayoutWithOtherSettings() {
+        MazePregenerator pregenerator = new MazePregenerator(MazeModelFactory::generateLayout);
+        assertNull(pregenerator.takeLayout(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1)));
+
+        pregenerator.pregenerate(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1));
+        assertNull(pregenerator.takeLayout(new MazeSpecification(GeneratorType.DEPTH_FIRST, 23, 21, 1)));
+        assertNull(pregenerator.takeLayout(new MazeSpecification(GeneratorType.KRUSKAL, 21, 21, 1)));
+    }
+
+    @Test
+    public void testFailedGeneration() {
+        MazePregenerator pregenerator = new MazePregenerator(specification -> {
+            throw new IllegalStateException("Generation failed");
+        });
+        pregenerator.pregenerate(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1));
+        assertNull(pregenerator.takeLayout(new MazeSpecification(GeneratorType.DEPTH_FIRST, 21, 21, 1)));
+    }
+
+    @Test
+    public void testPregenerateNull() {
+        MazePregenerator pregenerator = new MazePregenerator(MazeModelFactory::generateLayout);
+        TestingUtils.assertArgumentExceptionMessage(() -> pregenerator.pregenerate(null),
+                "The specification cannot be null");
+    }
+
+    @Test
+    public void testFactoryUsesPregeneratedMaze() {
+        Player player = new PlayerImplementation(new Coordinates(1, 1));
+        GameData gameData = new GameData(new ClassicGameModeData(31, 17), GameMode.CLASSIC, new Player[] { player });
+        MazeSpecification specification = MazeModelFactory.createSpecification(gameData);
+        MazePregenerator.getInstance().pregenerate(specification);
+
+        MazeLayout expected = MazeModelFactory.generateLayout(specification);
+        MazeModel maze = MazeModelFactory.createMaze(gameData);
+
+        assertEquals(expected.getBoard(), maze.getBoard());
+        assertEquals(expected.getExitCell(), maze.getExitCell());
+        assertEquals(expected.getMinimumPathLength(), maze.getMinimumPathLength());
+        assertSame(gameData.getPlayers(), maze.getPlayers());
+    }
+}
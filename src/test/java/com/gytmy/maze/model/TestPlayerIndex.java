@@ -0,0 +1,90 @@
+package com.gytmy.maze.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.generators.BoardGenerator;
+import com.gytmy.maze.model.generators.DepthFirstGenerator;
+import com.gytmy.maze.model.generators.EmptyBoardGenerator;
+import com.gytmy.maze.model.player.Player;
+import com.gytmy.maze.model.player.PlayerImplementation;
+import com.gytmy.utils.Coordinates;
+
+public class TestPlayerIndex {
+
+    @Test
+    public void testPlayersAtCoordinates() {
+        Player[] players = { createPlayer(0, 1, 1), createPlayer(1, 2, 1), createPlayer(2, 1, 1) };
+        MazeModel maze = MazeModelFactory.createMaze(new DepthFirstGenerator(5, 5), null, null, players, null);
+
+        assertEquals(List.of(players[0], players[2]), maze.getPlayersAtCoordinates(1, 1));
+        assertEquals(List.of(players[1]), maze.getPlayersAtCoordinates(2, 1));
+        assertTrue(maze.getPlayersAtCoordinates(3, 3).isEmpty());
+        assertTrue(maze.getPlayersAtCoordinates(-1, 0).isEmpty());
+
+        maze.setPlayerCoordinates(players[0], 2, 1);
+        assertEquals(List.of(players[2]), maze.getPlayersAtCoordinates(1, 1));
+        assertEquals(List.of(players[0], players[1]), maze.getPlayersAtCoordinates(2, 1));
+    }
+
+    @Test
+    public void testRandomMovesInMaze() {
+        // More players than paths, so that the cells are shared
+        assertRandomMovesAreIndexed(new DepthFirstGenerator(11, 9), 100);
+    }
+
+    @Test
+    public void testRandomMovesInEmptyBoard() {
+        // Few players on many cells, so that the slots of the cells collide
+        assertRandomMovesAreIndexed(new EmptyBoardGenerator(30, 30), 8);
+    }
+
+    private static void assertRandomMovesAreIndexed(BoardGenerator generator, int nbPlayers) {
+        Random random = new Random(nbPlayers);
+        Player[] players = new Player[nbPlayers];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = createPlayer(i, 1, 1);
+        }
+        MazeModel maze = MazeModelFactory.createMaze(generator, null, null, players, null);
+        maze.getPlayersAtCoordinates(1, 1);
+
+        Direction[] directions = Direction.values();
+        for (int move = 0; move < 20_000; move++) {
+            Player player = players[random.nextInt(players.length)];
+            maze.movePlayer(player, directions[random.nextInt(directions.length)]);
+            if (move % 100 == 0) {
+                assertIndexIsConsistent(maze);
+            }
+        }
+        assertIndexIsConsistent(maze);
+    }
+
+    /**
+     * The players are compared by name and color, so each one has its own
+     * name.
+     */
+    private static Player createPlayer(int id, int x, int y) {
+        return new PlayerImplementation(new Coordinates(x, y), "Player " + id, Color.RED);
+    }
+
+    private static void assertIndexIsConsistent(MazeModel maze) {
+        for (int y = 0; y < maze.getBoard().getHeight(); y++) {
+            for (int x = 0; x < maze.getBoard().getWidth(); x++) {
+                List<Player> expected = new ArrayList<>();
+                for (Player player : maze.getPlayers()) {
+                    if (player.isAt(x, y)) {
+                        expected.add(player);
+                    }
+                }
+                assertEquals(expected, maze.getPlayersAtCoordinates(x, y));
+            }
+        }
+    }
+}
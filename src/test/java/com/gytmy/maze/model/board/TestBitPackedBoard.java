@@ -0,0 +1,224 @@
+package com.gytmy.maze.model.board;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.gytmy.TestingUtils;
+import com.gytmy.utils.Boolean2DArraysOperations;
+
+public class TestBitPackedBoard {
+
+    @Test
+    public void testFromArrayNull() {
+        TestingUtils.assertArgumentExceptionMessage(() -> BitPackedBoard.fromArray(null), "Array cannot be null");
+    }
+
+    @Test
+    public void testFromArrayEmpty() {
+        Board board = BitPackedBoard.fromArray(new boolean[0][0]);
+        assertEquals(0, board.getWidth());
+        assertEquals(0, board.getHeight());
+    }
+
+    @Test
+    public void testFromArrayKeepsCells() {
+        boolean[][] array = new boolean[][] {
+                { false, false, true, false, false },
+                { false, true, true, true, true },
+                { true, false, true, false, true }
+        };
+        Board board = BitPackedBoard.fromArray(array);
+
+        assertEquals(5, board.getWidth());
+        assertEquals(3, board.getHeight());
+        assertArrayEquals(array, board.toArray());
+        assertTrue(board.isPath(2, 0));
+        assertTrue(board.isWall(0, 1));
+    }
+
+    @Test
+    public void testCellsAcrossWordBoundaries() {
+        // 13 * 11 = 143 cells, spread over 3 words
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(13, 11);
+        for (int y = 0; y < 11; y++) {
+            for (int x = 0; x < 13; x++) {
+                if ((x + y) % 3 == 0) {
+                    builder.setPath(x, y);
+                }
+            }
+        }
+        Board board = builder.build();
+
+        for (int y = 0; y < 11; y++) {
+            for (int x = 0; x < 13; x++) {
+                assertEquals((x + y) % 3 == 0, board.isPath(x, y), "(" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testSetWall() {
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(3, 3);
+        builder.setPath(1, 1);
+        assertTrue(builder.isPath(1, 1));
+        builder.setWall(1, 1);
+        assertFalse(builder.isPath(1, 1));
+    }
+
+    @Test
+    public void testIsInside() {
+        Board board = new BitPackedBoard.Builder(4, 2).build();
+
+        assertTrue(board.isInside(0, 0));
+        assertTrue(board.isInside(3, 1));
+        assertFalse(board.isInside(4, 1));
+        assertFalse(board.isInside(3, 2));
+        assertFalse(board.isInside(-1, 0));
+    }
+
+    @Test
+    public void testBuilderCannotBeReused() {
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(3, 3);
+        builder.build();
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    public void testNegativeDimensions() {
+        TestingUtils.assertArgumentExceptionMessage(() -> new BitPackedBoard.Builder(-1, 3),
+                "The dimensions of the board cannot be negative");
+    }
+
+    @Test
+    public void testEquals() {
+        boolean[][] array = new boolean[][] { { true, false }, { false, true } };
+        boolean[][] other = new boolean[][] { { true, false }, { true, true } };
+
+        assertEquals(BitPackedBoard.fromArray(array), BitPackedBoard.fromArray(array));
+        assertEquals(BitPackedBoard.fromArray(array).hashCode(), BitPackedBoard.fromArray(array).hashCode());
+        assertNotEquals(BitPackedBoard.fromArray(array), BitPackedBoard.fromArray(other));
+    }
+
+    @Test
+    public void testWords() {
+        // 3 x 30 cells, so the second word only holds 26 cells
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(3, 30);
+        builder.setPath(0, 0).setPath(2, 29);
+        BitPackedBoard board = builder.build();
+        assertEquals(2, BitPackedBoard.getNumberOfWords(3, 30));
+
+        BitPackedBoard.Builder copy = new BitPackedBoard.Builder(3, 30);
+        copy.setWord(0, board.getWord(0));
+        // The bits after the last cell are ignored
+        copy.setWord(1, board.getWord(1) | -1L << 26);
+        assertEquals(board, copy.build());
+    }
+
+    @Test
+    public void testCopyOf() {
+        BitPackedBoard board = BitPackedBoard.fromArray(new boolean[][] { { true, false }, { false, true } });
+        assertTrue(board == BitPackedBoard.copyOf(board));
+        Board view = new Board() {
+            @Override
+            public int getWidth() {
+                return board.getWidth();
+            }
+
+            @Override
+            public int getHeight() {
+                return board.getHeight();
+            }
+
+            @Override
+            public boolean isPath(int x, int y) {
+                return board.isPath(x, y);
+            }
+        };
+        assertEquals(board, BitPackedBoard.copyOf(view));
+    }
+    @Test
+    public void testEmptyRowsAndColumns() {
+        BitPackedBoard board = BitPackedBoard.fromArray(new boolean[100][70]);
+        assertTrue(board.isRowEmpty(99));
+        assertTrue(board.isColumnEmpty(0));
+
+        boolean[][] array = new boolean[100][70];
+        array[99][69] = true;
+        board = BitPackedBoard.fromArray(array);
+        assertFalse(board.isRowEmpty(99));
+        assertTrue(board.isRowEmpty(98));
+        assertFalse(board.isColumnEmpty(69));
+        assertTrue(board.isColumnEmpty(68));
+    }
+
+    @Test
+    public void testPad() {
+        // Rows wider than a word and borders which are not multiples of a word
+        boolean[][] array = createRandomArray(37, 150);
+        assertEquals(BitPackedBoard.fromArray(Boolean2DArraysOperations.addEmptyBorders(array, 3, 5, 1, 70)),
+                BitPackedBoard.fromArray(array).pad(3, 5, 1, 70));
+    }
+
+    @Test
+    public void testAddMissingBorders() {
+        boolean[][] array = createRandomArray(20, 65);
+        assertEquals(BitPackedBoard.fromArray(Boolean2DArraysOperations.addMissingBorders(array)),
+                BitPackedBoard.fromArray(array).addMissingBorders());
+
+        BitPackedBoard bordered = BitPackedBoard.fromArray(new boolean[][] { { false, false }, { false, false } });
+        assertEquals(bordered, bordered.addMissingBorders());
+    }
+
+    @Test
+    public void testSetPaths() {
+        boolean[][] source = createRandomArray(5, 150);
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(200, 4);
+        builder.setPath(0, 2);
+        builder.setPaths(7, 2, BitPackedBoard.fromArray(source), 3, 1, 140);
+        Board board = builder.build();
+
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                boolean copied = y == 2 && x >= 7 && x < 7 + 140 && source[1][x - 4];
+                assertEquals(copied || (x == 0 && y == 2), board.isPath(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testRowsOfBoardFile() {
+        boolean[][] array = createRandomArray(7, 139);
+        BitPackedBoard board = BitPackedBoard.fromArray(array);
+        BitPackedBoard.Builder builder = new BitPackedBoard.Builder(139, 7);
+        byte[] row = new byte[BoardFile.getRowSize(139)];
+        for (int y = 0; y < array.length; y++) {
+            board.getRow(y, row);
+            for (int x = 0; x < array[y].length; x++) {
+                assertEquals(array[y][x], BoardFile.isPath(row, x));
+            }
+            // The bits after the last cell are ignored
+            row[row.length - 1] |= (byte) 0x80;
+            builder.setRow(y, row);
+        }
+        assertEquals(board, builder.build());
+    }
+
+    private static boolean[][] createRandomArray(int height, int width) {
+        Random random = new Random(height * width);
+        boolean[][] array = new boolean[height][width];
+        for (boolean[] row : array) {
+            for (int col = 0; col < width; ++col) {
+                row[col] = random.nextBoolean();
+            }
+        }
+        return array;
+    }
+}
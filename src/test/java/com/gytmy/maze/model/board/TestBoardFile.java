@@ -0,0 +1,168 @@
+package com.gytmy.maze.model.board;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.generators.EllerGenerator;
+import com.gytmy.maze.model.generators.TestDepthFirstGenerator;
+
+public class TestBoardFile {
+
+    @Test
+    public void testGetRowSize() {
+        assertEquals(0, BoardFile.getRowSize(0));
+        assertEquals(1, BoardFile.getRowSize(1));
+        assertEquals(1, BoardFile.getRowSize(8));
+        assertEquals(2, BoardFile.getRowSize(9));
+    }
+
+    @Test
+    public void testWriteAndRead() throws IOException {
+        boolean[][] array = new boolean[][] {
+                { false, true, false, false, false, false, false, false, false, true },
+                { true, true, true, true, true, true, true, true, true, false },
+                { false, false, false, false, false, false, false, false, true, true }
+        };
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            try (BoardFile.Writer writer = BoardFile.createWriter(path, 10, 3)) {
+                for (boolean[] line : array) {
+                    writer.writeRow(toRow(line));
+                }
+            }
+            assertEquals(BoardFile.HEADER_SIZE + 3 * 2, Files.size(path));
+            assertEquals(BitPackedBoard.fromArray(array), BoardFile.read(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testExtensionAndTrailer() throws IOException {
+        boolean[][] array = new boolean[][] { { true, false, true } };
+        ByteBuffer extension = ByteBuffer.allocate(Long.BYTES).putLong(42).flip();
+        int[] trailer = { 7, -1, 3 };
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            try (BoardFile.Writer writer = BoardFile.createWriter(path, 3, 1, extension, 3 * Integer.BYTES)) {
+                assertThrows(IllegalStateException.class, () -> writer.writeTrailer(trailer));
+                writer.writeRow(toRow(array[0]));
+                assertThrows(IllegalArgumentException.class, () -> writer.writeTrailer(new int[2]));
+                writer.writeTrailer(trailer);
+            }
+
+            try (BoardFile.Reader reader = BoardFile.openReader(path)) {
+                assertEquals(42, reader.getExtension().getLong());
+                int[] read = new int[trailer.length];
+                reader.readTrailer(read);
+                assertArrayEquals(trailer, read);
+                assertEquals(BitPackedBoard.fromArray(array), reader.readBoard());
+            }
+            assertArrayEquals(array, MappedBoard.open(path).toArray());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testReadFirstVersion() throws IOException {
+        boolean[][] array = new boolean[][] { { false, true }, { true, true } };
+        ByteBuffer content = ByteBuffer.allocate(4 * Integer.BYTES + 2);
+        content.putInt(BoardFile.MAGIC).putInt(1).putInt(2).putInt(2);
+        content.put(toRow(array[0])).put(toRow(array[1]));
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            Files.write(path, content.array());
+
+            assertEquals(BitPackedBoard.fromArray(array), BoardFile.read(path));
+            assertArrayEquals(array, MappedBoard.open(path).toArray());
+            try (BoardFile.Reader reader = BoardFile.openReader(path)) {
+                assertEquals(0, reader.getExtension().remaining());
+                assertEquals(0, reader.getTrailerSize());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private byte[] toRow(boolean[] line) {
+        byte[] row = new byte[BoardFile.getRowSize(line.length)];
+        for (int x = 0; x < line.length; x++) {
+            if (line[x]) {
+                BoardFile.setPath(row, x);
+            }
+        }
+        return row;
+    }
+
+    @Test
+    public void testTooManyRows() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try (BoardFile.Writer writer = BoardFile.createWriter(path, 3, 1)) {
+            writer.writeRow(new byte[1]);
+            assertThrows(IllegalStateException.class, () -> writer.writeRow(new byte[1]));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testIncompleteFileIsDeleted() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        BoardFile.Writer writer = BoardFile.createWriter(path, 3, 2);
+        writer.writeRow(new byte[1]);
+        assertThrows(IllegalStateException.class, writer::close);
+        assertFalse(Files.exists(path));
+
+        writer = BoardFile.createWriter(path, 3, 1, ByteBuffer.allocate(0), Integer.BYTES);
+        writer.writeRow(new byte[1]);
+        assertThrows(IllegalStateException.class, writer::close);
+        assertFalse(Files.exists(path));
+    }
+
+    @Test
+    public void testReadInvalidFiles() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            Files.write(path, new byte[] { 1, 2, 3 });
+            assertThrows(IOException.class, () -> BoardFile.read(path));
+
+            ByteBuffer header = ByteBuffer.allocate(BoardFile.HEADER_SIZE);
+            header.putInt(BoardFile.MAGIC).putInt(BoardFile.VERSION + 1).putInt(1).putInt(1);
+            Files.write(path, header.array());
+            assertThrows(IOException.class, () -> BoardFile.read(path));
+
+            // Missing the only row
+            header.putInt(Integer.BYTES, BoardFile.VERSION);
+            Files.write(path, header.array());
+            assertThrows(IOException.class, () -> BoardFile.read(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStreamedMazeIsPerfect() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            EllerGenerator generator = new EllerGenerator(301, 77);
+            generator.generateToFile(path);
+
+            Board board = BoardFile.read(path);
+            assertEquals(generator.getBoardWidth(), board.getWidth());
+            assertEquals(generator.getBoardHeight(), board.getHeight());
+            TestDepthFirstGenerator.assertPerfectMaze(board);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
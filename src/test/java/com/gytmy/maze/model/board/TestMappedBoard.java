@@ -0,0 +1,59 @@
+package com.gytmy.maze.model.board;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.generators.EllerGenerator;
+
+public class TestMappedBoard {
+
+    @Test
+    public void testSameCellsAsReadBoard() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            new EllerGenerator(203, 51).generateToFile(path);
+
+            Board expected = BoardFile.read(path);
+            Board board = MappedBoard.open(path);
+            assertEquals(expected.getWidth(), board.getWidth());
+            assertEquals(expected.getHeight(), board.getHeight());
+            assertArrayEquals(expected.toArray(), board.toArray());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testSeveralSegments() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            new EllerGenerator(99, 41).generateToFile(path);
+
+            Board expected = BoardFile.read(path);
+            // 13 bytes per row, so 2 rows per segment and a last segment of 1
+            // row
+            Board board = MappedBoard.open(path, 30);
+            assertArrayEquals(expected.toArray(), board.toArray());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testOpenInvalidFile() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            Files.write(path, new byte[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 });
+            assertThrows(IOException.class, () -> MappedBoard.open(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
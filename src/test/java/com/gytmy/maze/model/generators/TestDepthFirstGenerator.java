@@ -1,10 +1,17 @@
 package com.gytmy.maze.model.generators;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import org.junit.Test;
 
 import com.gytmy.TestingUtils;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.utils.CellFinder;
 import com.gytmy.utils.Coordinates;
 
 public class TestDepthFirstGenerator {
@@ -111,4 +118,87 @@ public class TestDepthFirstGenerator {
         }
     }
 
+    @Test
+    public void testGenerateBoardMatchesArraySize() {
+        Board board = new DepthFirstGenerator(51, 52).generateBoard();
+        assertEquals(51, board.getWidth());
+        assertEquals(53, board.getHeight());
+    }
+
+    @Test
+    public void testPerfectMaze() {
+        assertPerfectMaze(new DepthFirstGenerator(5, 5).generateBoard());
+        assertPerfectMaze(new DepthFirstGenerator(6, 6).generateBoard());
+        assertPerfectMaze(new DepthFirstGenerator(51, 11).generateBoard());
+        assertPerfectMaze(new DepthFirstGenerator(10, 9, new Coordinates(2, 2)).generateBoard());
+        assertPerfectMaze(new DepthFirstGenerator(101, 101).generateBoard());
+    }
+
+    /**
+     * A perfect maze is surrounded by walls and its paths form a tree: all the
+     * path cells are connected and there are exactly (cells - 1) passages
+     * between adjacent path cells.
+     */
+    public static void assertPerfectMaze(Board board) {
+        assertBorderIsWall(board);
+
+        int nbPathCells = 0;
+        int nbPassages = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                if (board.isPath(x, y)) {
+                    nbPathCells++;
+                    nbPassages += countRightAndDownPassages(board, x, y);
+                }
+            }
+        }
+        assertEquals(nbPathCells - 1, nbPassages, "the paths contain a cycle or are disconnected");
+        assertEquals(nbPathCells, countReachableCells(board), "the paths are disconnected");
+    }
+
+    private static int countReachableCells(Board board) {
+        Coordinates first = new CellFinder(board).getClosestToTopCell();
+        boolean[][] visited = new boolean[board.getHeight()][board.getWidth()];
+        Deque<Coordinates> toVisit = new ArrayDeque<>();
+        toVisit.push(first);
+        visited[first.getY()][first.getX()] = true;
+
+        int count = 0;
+        while (!toVisit.isEmpty()) {
+            Coordinates current = toVisit.pop();
+            count++;
+            for (int[] step : new int[][] { { 0, -1 }, { 1, 0 }, { 0, 1 }, { -1, 0 } }) {
+                int x = current.getX() + step[0];
+                int y = current.getY() + step[1];
+                if (board.isPath(x, y) && !visited[y][x]) {
+                    visited[y][x] = true;
+                    toVisit.push(new Coordinates(x, y));
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int countRightAndDownPassages(Board board, int x, int y) {
+        int count = 0;
+        if (board.isPath(x + 1, y)) {
+            count++;
+        }
+        if (board.isPath(x, y + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void assertBorderIsWall(Board board) {
+        for (int x = 0; x < board.getWidth(); x++) {
+            assertFalse(board.isPath(x, 0));
+            assertFalse(board.isPath(x, board.getHeight() - 1));
+        }
+        for (int y = 0; y < board.getHeight(); y++) {
+            assertFalse(board.isPath(0, y));
+            assertFalse(board.isPath(board.getWidth() - 1, y));
+        }
+    }
+
 }
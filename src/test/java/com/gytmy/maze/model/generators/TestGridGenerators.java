@@ -0,0 +1,136 @@
+package com.gytmy.maze.model.generators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+import com.gytmy.TestingUtils;
+import com.gytmy.maze.model.MazeModelFactory;
+import com.gytmy.maze.model.MazeSpecification;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.board.BoardFile;
+
+public class TestGridGenerators {
+
+    private static final int[][] SIZES = { { 5, 5 }, { 6, 6 }, { 5, 101 }, { 101, 5 }, { 51, 50 }, { 201, 173 } };
+
+    @Test
+    public void testInvalidSize() {
+        for (GeneratorType type : GeneratorType.values()) {
+            TestingUtils.assertArgumentExceptionMessage(() -> MazeModelFactory.createBoardGenerator(type, 4, 5),
+                    "The width must be at least 5");
+            TestingUtils.assertArgumentExceptionMessage(() -> MazeModelFactory.createBoardGenerator(type, 5, -1),
+                    "The height must be at least 5");
+        }
+    }
+
+    @Test
+    public void testEllerPerfectMaze() {
+        assertPerfectMazes(EllerGenerator::new);
+    }
+
+    @Test
+    public void testKruskalPerfectMaze() {
+        assertPerfectMazes(KruskalGenerator::new);
+    }
+
+    @Test
+    public void testWilsonPerfectMaze() {
+        assertPerfectMazes(WilsonGenerator::new);
+    }
+
+    private void assertPerfectMazes(BiFunction<Integer, Integer, BoardGenerator> constructor) {
+        for (int[] size : SIZES) {
+            Board expected = new DepthFirstGenerator(size[0], size[1]).generateBoard();
+            Board board = constructor.apply(size[0], size[1]).generateBoard();
+
+            assertEquals(expected.getWidth(), board.getWidth());
+            assertEquals(expected.getHeight(), board.getHeight());
+            TestDepthFirstGenerator.assertPerfectMaze(board);
+        }
+    }
+
+    @Test
+    public void testGenerateMatchesBoard() {
+        for (GeneratorType type : GeneratorType.values()) {
+            BoardGenerator generator = MazeModelFactory.createBoardGenerator(type, 11, 21);
+            boolean[][] board = generator.generate();
+            assertEquals(21, board.length);
+            assertEquals(11, board[0].length);
+        }
+    }
+
+    @Test
+    public void testGeneratorsAreReusable() {
+        for (GeneratorType type : GeneratorType.values()) {
+            BoardGenerator generator = MazeModelFactory.createBoardGenerator(type, 31, 31);
+            TestDepthFirstGenerator.assertPerfectMaze(generator.generateBoard());
+            TestDepthFirstGenerator.assertPerfectMaze(generator.generateBoard());
+        }
+    }
+
+    @Test
+    public void testCancelledGeneration() {
+        List<BoardGenerator> generators = new ArrayList<>();
+        for (GeneratorType type : GeneratorType.values()) {
+            generators.add(MazeModelFactory.createBoardGenerator(type, 301, 301));
+        }
+        generators.add(new TiledDepthFirstGenerator(301, 301));
+
+        for (BoardGenerator generator : generators) {
+            assertThrows(CancellationException.class, () -> generator.generateBoard(() -> true));
+            // The next generation is not cancelled
+            TestDepthFirstGenerator.assertPerfectMaze(generator.generateBoard(() -> false));
+        }
+    }
+
+    @Test
+    public void testSeededGenerationIsReproducible() {
+        for (GeneratorType type : GeneratorType.values()) {
+            MazeSpecification specification = new MazeSpecification(type, 41, 31, 42);
+            BoardGenerator generator = MazeModelFactory.createBoardGenerator(specification);
+            Board board = generator.generateBoard();
+
+            assertEquals(board, generator.generateBoard(), type.toString());
+            assertEquals(board, MazeModelFactory.createBoardGenerator(specification).generateBoard(), type.toString());
+            assertNotEquals(board, MazeModelFactory.createBoardGenerator(new MazeSpecification(type, 41, 31, 43))
+                    .generateBoard(), type.toString());
+        }
+    }
+
+    @Test
+    public void testSeededTiledGenerationIsReproducible() {
+        Board board = new TiledDepthFirstGenerator(600, 300, 7).generateBoard();
+        assertEquals(board, new TiledDepthFirstGenerator(600, 300, 7).generateBoard());
+    }
+
+    @Test
+    public void testSeededStreamingMatchesBoard() throws IOException {
+        Path path = Files.createTempFile("board", ".maze");
+        try {
+            new EllerGenerator(73, 35, 11).generateToFile(path);
+            assertEquals(new EllerGenerator(73, 35, 11).generateBoard(), BoardFile.read(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testCreateBoardGeneratorTypes() {
+        assertTrue(MazeModelFactory.createBoardGenerator(GeneratorType.DEPTH_FIRST, 11, 11) instanceof DepthFirstGenerator);
+        assertTrue(MazeModelFactory.createBoardGenerator(GeneratorType.ELLER, 11, 11) instanceof EllerGenerator);
+        assertTrue(MazeModelFactory.createBoardGenerator(GeneratorType.KRUSKAL, 11, 11) instanceof KruskalGenerator);
+        assertTrue(MazeModelFactory.createBoardGenerator(GeneratorType.WILSON, 11, 11) instanceof WilsonGenerator);
+    }
+}
@@ -0,0 +1,89 @@
+package com.gytmy.maze.model.generators;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.gytmy.TestingUtils;
+import com.gytmy.maze.model.board.Board;
+
+public class TestTiledDepthFirstGenerator {
+
+    @Test
+    public void testConstructorInvalidArguments() {
+        TestingUtils.assertArgumentExceptionMessage(() -> new TiledDepthFirstGenerator(4, 5),
+                "The width must be at least 5");
+        TestingUtils.assertArgumentExceptionMessage(() -> new TiledDepthFirstGenerator(5, -5),
+                "The height must be at least 5");
+        TestingUtils.assertArgumentExceptionMessage(() -> new TiledDepthFirstGenerator(5, 5, null),
+                "The pool cannot be null");
+        TestingUtils.assertArgumentExceptionMessage(() -> new TiledDepthFirstGenerator(5, 5, 42, null),
+                "The pool cannot be null");
+    }
+
+    @Test
+    public void testSameSizeAsDepthFirstGenerator() {
+        assertSameSize(5, 5);
+        assertSameSize(6, 6);
+        assertSameSize(7, 10);
+        assertSameSize(51, 11);
+        assertSameSize(600, 257);
+    }
+
+    private void assertSameSize(int width, int height) {
+        Board expected = new DepthFirstGenerator(width, height).generateBoard();
+        Board board = new TiledDepthFirstGenerator(width, height).generateBoard();
+
+        assertEquals(expected.getWidth(), board.getWidth());
+        assertEquals(expected.getHeight(), board.getHeight());
+    }
+
+    @Test
+    public void testPerfectMazeSingleTile() {
+        TestDepthFirstGenerator.assertPerfectMaze(new TiledDepthFirstGenerator(5, 5).generateBoard());
+        TestDepthFirstGenerator.assertPerfectMaze(new TiledDepthFirstGenerator(51, 101).generateBoard());
+    }
+
+    @Test
+    public void testPerfectMazeSeveralTiles() {
+        // 3 x 2 tiles, the last column of tiles is wider than the others
+        TestDepthFirstGenerator.assertPerfectMaze(new TiledDepthFirstGenerator(801, 600).generateBoard());
+        // A single row of tiles
+        TestDepthFirstGenerator.assertPerfectMaze(new TiledDepthFirstGenerator(1024, 7).generateBoard());
+        // A single column of tiles narrower than a word, copied sequentially
+        TestDepthFirstGenerator.assertPerfectMaze(new TiledDepthFirstGenerator(9, 1024).generateBoard());
+    }
+
+    @Test
+    public void testSeedDoesNotDependOnPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            Board expected = new TiledDepthFirstGenerator(801, 600, 42).generateBoard();
+            assertEquals(expected, new TiledDepthFirstGenerator(801, 600, 42, pool).generateBoard());
+            assertEquals(expected, new TiledDepthFirstGenerator(801, 600, 42, pool).generateBoard());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testPerfectMazeOnCustomPool() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            for (int i = 0; i < 5; i++) {
+                TestDepthFirstGenerator.assertPerfectMaze(new TiledDepthFirstGenerator(520, 520, pool).generateBoard());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testGenerateMatchesBoardSize() {
+        boolean[][] board = new TiledDepthFirstGenerator(301, 9).generate();
+        assertEquals(9, board.length);
+        assertEquals(301, board[0].length);
+    }
+}
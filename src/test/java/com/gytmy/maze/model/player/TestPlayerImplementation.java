@@ -1,10 +1,15 @@
 package com.gytmy.maze.model.player;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.Color;
+
 import org.junit.Test;
 
 import com.gytmy.maze.model.Direction;
+import com.gytmy.utils.Coordinates;
 
 public class TestPlayerImplementation {
 
@@ -58,4 +63,29 @@ public class TestPlayerImplementation {
         assertTrue(player.getX() == 2 && player.getY() == 1);
     }
 
+    @Test
+    public void testIsAt() {
+        Player player = new PlayerImplementation(1, 2);
+        assertTrue(player.isAt(1, 2));
+        assertFalse(player.isAt(2, 1));
+
+        player.setCoordinates(3, 4);
+        assertTrue(player.isAt(3, 4));
+    }
+
+    @Test
+    public void testCoordinatesAreNotShared() {
+        Coordinates coordinates = new Coordinates(1, 1);
+        Player player = new PlayerImplementation(coordinates);
+        player.move(Direction.RIGHT);
+        player.getCoordinates().setX(0);
+        assertEquals(new Coordinates(1, 1), coordinates);
+        assertEquals(new Coordinates(2, 1), player.getCoordinates());
+
+        // Moving an unplaced player must not move the uninitialized constant
+        Player unplaced = new PlayerImplementation("Unplaced", Color.RED);
+        unplaced.setX(0);
+        assertEquals(Coordinates.UNINITIALIZED_COORDINATE, Coordinates.UNINITIALIZED_COORDINATES.getX());
+    }
+
 }
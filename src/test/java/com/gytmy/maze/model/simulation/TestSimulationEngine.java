@@ -0,0 +1,93 @@
+package com.gytmy.maze.model.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.Direction;
+import com.gytmy.maze.model.generators.GeneratorType;
+import com.gytmy.maze.model.score.SimpleScoreCalculator;
+
+public class TestSimulationEngine {
+
+    @Test
+    public void testShortestPath() throws InterruptedException {
+        SimulationReport report = new SimulationEngine()
+                .setMaze(GeneratorType.KRUSKAL, 15, 11)
+                .setStrategy(PlayerStrategy::shortestPath)
+                .setSecondsPerCommand(0)
+                .setNbGames(50)
+                .run();
+
+        assertEquals(50, report.getNbGames());
+        assertEquals(50, report.getNbCompletedGames());
+        long minimumCommands = 0;
+        for (GameResult result : report.getResults()) {
+            minimumCommands += result.getMinimumPathLength();
+            assertEquals(SimpleScoreCalculator.MAX_SCORE, result.getScore(0));
+        }
+        assertEquals(minimumCommands, report.getNbCommands());
+        assertEquals(50, report.getScoreHistogram()[SimulationReport.NB_SCORE_BUCKETS - 1]);
+    }
+
+    @Test
+    public void testPlayersTakeTurns() {
+        GameResult result = new SimulationEngine()
+                .setNbPlayers(3)
+                .setStrategy(PlayerStrategy::shortestPath)
+                .setSecondsPerCommand(1)
+                .playGame(0);
+
+        // The players need the same number of commands, the last one to play
+        // waits for the others at each turn
+        int length = result.getMinimumPathLength();
+        assertTrue(result.isCompleted());
+        assertEquals(3L * length, result.getNbCommands());
+        assertEquals(3 * length - 2, result.getTimeInSeconds(0));
+        assertEquals(3 * length, result.getTimeInSeconds(2));
+    }
+
+    @Test
+    public void testGivingUp() {
+        GameResult result = new SimulationEngine()
+                .setNbPlayers(2)
+                .setStrategy(() -> PlayerStrategy.scripted(Direction.UP))
+                .setMaxCommandsPerPlayer(10)
+                .playGame(0);
+
+        assertFalse(result.isCompleted());
+        assertFalse(result.isExitReached(1));
+        assertEquals(20, result.getNbCommands());
+    }
+
+    @Test
+    public void testSameSeedSameGames() throws InterruptedException {
+        SimulationEngine engine = new SimulationEngine()
+                .setNbPlayers(2)
+                .setStrategy(() -> PlayerStrategy.noisyShortestPath(0.3))
+                .setNbGames(20)
+                .setSeed(42);
+        SimulationReport first = engine.run();
+        SimulationReport second = engine.setParallelism(1).run();
+
+        assertEquals(first.getNbCommands(), second.getNbCommands());
+        assertArrayEquals(first.getScoreHistogram(), second.getScoreHistogram());
+        assertEquals(first.getCompletionTimePercentile(0.5), second.getCompletionTimePercentile(0.5));
+    }
+
+    @Test
+    public void testRandomWalk() throws InterruptedException {
+        SimulationReport report = new SimulationEngine()
+                .setMaze(GeneratorType.DEPTH_FIRST, 11, 11)
+                .setNbPlayers(2)
+                .setNbGames(20)
+                .run();
+
+        assertEquals(40, report.getNbFinishers());
+        assertTrue(report.getScorePercentile(1) <= SimpleScoreCalculator.MAX_SCORE);
+        assertTrue(report.getCompletionTimePercentile(0) <= report.getCompletionTimePercentile(1));
+    }
+}
@@ -169,4 +169,35 @@ public class TestBoolean2DArraysOperations {
         assertTrue(Arrays.deepEquals(expected, result));
     }
 
+    @Test
+    public void testAddEmptyBorders() {
+        boolean[][] array = new boolean[][] { { true, false }, { true, true } };
+
+        boolean[][] result = Boolean2DArraysOperations.addEmptyBorders(array, 1, 0, 2, 1);
+        boolean[][] expected = new boolean[][] { { false, false, false }, { true, false, false },
+                { true, true, false }, { false, false, false }, { false, false, false } };
+
+        assertTrue(Arrays.deepEquals(expected, result));
+    }
+
+    @Test
+    public void testAddEmptyBordersNegative() {
+        TestingUtils.assertArgumentExceptionMessage(
+                () -> Boolean2DArraysOperations.addEmptyBorders(new boolean[1][1], 0, -1, 0, 0),
+                "The borders cannot be negative");
+    }
+
+    @Test
+    public void testAddMissingBorders() {
+        boolean[][] array = new boolean[][] { { false, false, false }, { true, true, false }, { false, true, true } };
+
+        boolean[][] result = Boolean2DArraysOperations.addMissingBorders(array);
+        // The first row is already empty, the other sides are not
+        boolean[][] expected = new boolean[][] { { false, false, false, false, false },
+                { false, true, true, false, false }, { false, false, true, true, false },
+                { false, false, false, false, false } };
+
+        assertTrue(Arrays.deepEquals(expected, result));
+    }
+
 }
@@ -1,9 +1,17 @@
 package com.gytmy.utils;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.generators.DepthFirstGenerator;
+
 public class TestCellFinder {
 
     @Test
@@ -62,6 +70,21 @@ public class TestCellFinder {
         assertCorrectClosestToTopCell(board, new Coordinates(2, 2));
     }
 
+    @Test
+    public void testGetClosestToBottomCell() {
+        boolean[][] board = new boolean[][] {
+                { false, false, false, false, false },
+                { false, true, true, true, false },
+                { false, true, false, true, false },
+                { false, true, true, false, false },
+                { false, false, false, false, false }
+        };
+        assertEquals(new Coordinates(2, 3), new CellFinder(board).getClosestToBottomCell());
+
+        board[3] = new boolean[] { false, false, false, false, false };
+        assertEquals(new Coordinates(3, 2), new CellFinder(board).getClosestToBottomCell());
+    }
+
     private void assertCorrectClosestToTopCell(boolean[][] board, Coordinates expected) {
         CellFinder finder = new CellFinder(board);
         Coordinates result = finder.getClosestToTopCell();
@@ -106,4 +129,90 @@ public class TestCellFinder {
         assertEquals(12, result);
     }
 
+    @Test
+    public void testGetDistanceAfterGetFurthestCell() {
+        boolean[][] board = new boolean[][] {
+                { false, false, false, false, false },
+                { false, true, true, true, false },
+                { false, true, false, true, false },
+                { false, true, false, true, false },
+                { false, false, false, false, false }
+        };
+
+        CellFinder finder = new CellFinder(board);
+        Coordinates furthest = finder.getFurthestCell(new Coordinates(1, 3));
+
+        assertEquals(6, finder.getDistance(new Coordinates(1, 3), furthest));
+        assertEquals(2, finder.getDistance(new Coordinates(1, 3), new Coordinates(1, 1)));
+        assertEquals(4, finder.getDistance(new Coordinates(1, 1), new Coordinates(3, 3)));
+        assertEquals(0, finder.getDistance(new Coordinates(3, 3), new Coordinates(3, 3)));
+    }
+
+    @Test
+    public void testGetDistanceUnreachable() {
+        boolean[][] board = new boolean[][] {
+                { false, false, false, false, false },
+                { false, true, false, true, false },
+                { false, true, false, true, false },
+                { false, false, false, false, false }
+        };
+
+        CellFinder finder = new CellFinder(board);
+        assertEquals(-1, finder.getDistance(new Coordinates(1, 1), new Coordinates(3, 2)));
+        assertEquals(1, finder.getDistance(new Coordinates(3, 1), new Coordinates(3, 2)));
+    }
+
+    @Test
+    public void testGetDistanceField() {
+        boolean[][] board = new boolean[][] {
+                { false, false, false, false, false },
+                { false, true, true, true, false },
+                { false, true, false, false, false },
+                { false, true, false, true, false },
+                { false, false, false, false, false }
+        };
+
+        CellFinder finder = new CellFinder(board);
+        int[] distances = finder.getDistanceField(new Coordinates(3, 1));
+
+        assertArrayEquals(new int[] {
+                -1, -1, -1, -1, -1,
+                -1, 2, 1, 0, -1,
+                -1, 3, -1, -1, -1,
+                -1, 4, -1, -1, -1,
+                -1, -1, -1, -1, -1
+        }, distances);
+    }
+
+    @Test
+    public void testRepeatedSearchesReuseBuffers() {
+        boolean[][] board = new boolean[40][40];
+        for (int row = 1; row < 39; row++) {
+            for (int col = 1; col < 39; col++) {
+                board[row][col] = true;
+            }
+        }
+
+        CellFinder finder = new CellFinder(board);
+        for (int i = 1; i < 38; i++) {
+            assertEquals(i, finder.getDistance(new Coordinates(1, 1), new Coordinates(1 + i, 1)));
+            assertEquals(new Coordinates(38, 38), finder.getFurthestCell(new Coordinates(1, 1)));
+        }
+    }
+
+
+    @Test
+    public void testCancelledSearch() {
+        Board board = new DepthFirstGenerator(301, 301, null, 3).generateBoard();
+        CellFinder finder = new CellFinder(board);
+        Coordinates start = new Coordinates(1, 1);
+        int[] expected = new CellFinder(board).getDistanceField(start);
+
+        AtomicBoolean cancelled = new AtomicBoolean(true);
+        finder.setCancellationCheck(cancelled::get);
+        assertThrows(CancellationException.class, () -> finder.getFurthestCell(start));
+
+        cancelled.set(false);
+        assertArrayEquals(expected, finder.getDistanceField(start));
+    }
 }
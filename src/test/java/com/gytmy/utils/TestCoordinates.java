@@ -35,4 +35,12 @@ public class TestCoordinates {
 
     }
 
+    @Test
+    public void testIndex() {
+        Coordinates coordinates = new Coordinates(3, 2);
+        assertEquals(23, coordinates.toIndex(10));
+        assertEquals(23, Coordinates.toIndex(3, 2, 10));
+        assertEquals(coordinates, Coordinates.fromIndex(23, 10));
+    }
+
 }
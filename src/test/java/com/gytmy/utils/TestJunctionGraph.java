@@ -0,0 +1,170 @@
+package com.gytmy.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.generators.DepthFirstGenerator;
+import com.gytmy.maze.model.generators.WilsonGenerator;
+
+public class TestJunctionGraph {
+
+    // A T-shaped corridor and a loop without any intersection
+    private static final boolean[][] BOARD = new boolean[][] {
+            { false, false, false, false, false, false, false, false, false },
+            { false, true, true, true, true, true, false, false, false },
+            { false, false, false, true, false, false, false, false, false },
+            { false, false, false, true, false, false, true, true, true },
+            { false, false, false, true, false, false, true, false, true },
+            { false, false, false, false, false, false, true, true, true }
+    };
+
+    @Test
+    public void testNodesAndEdges() {
+        JunctionGraph graph = new JunctionGraph(BitPackedBoard.fromArray(BOARD));
+
+        // The dead ends (1, 1), (5, 1) and (3, 4) and the intersection (3, 1)
+        assertEquals(4, graph.getNbNodes());
+        assertEquals(3, graph.getNbEdges());
+        int intersection = graph.getNode(9 + 3);
+        assertEquals(9 + 3, graph.getNodeCell(intersection));
+        assertEquals(3, graph.getNbEdges(intersection));
+        assertEquals(-1, graph.getNode(9 + 2));
+
+        int totalLength = 0;
+        for (int i = 0; i < graph.getNbEdges(intersection); i++) {
+            totalLength += graph.getEdgeLength(intersection, i);
+        }
+        assertEquals(2 + 2 + 3, totalLength);
+    }
+
+    @Test
+    public void testDistances() {
+        JunctionGraph graph = new JunctionGraph(BitPackedBoard.fromArray(BOARD));
+
+        assertEquals(5, graph.getDistance(new Coordinates(1, 1), new Coordinates(3, 4)));
+        assertEquals(1, graph.getDistance(new Coordinates(3, 3), new Coordinates(3, 4)));
+        assertEquals(2, graph.getDistance(new Coordinates(2, 1), new Coordinates(4, 1)));
+        assertEquals(0, graph.getDistance(new Coordinates(2, 1), new Coordinates(2, 1)));
+        // Inside the loop, the shortest way round is taken
+        assertEquals(3, graph.getDistance(new Coordinates(6, 3), new Coordinates(7, 5)));
+        assertEquals(-1, graph.getDistance(new Coordinates(1, 1), new Coordinates(6, 3)));
+        assertEquals(-1, graph.getDistance(new Coordinates(0, 0), new Coordinates(1, 1)));
+    }
+
+    @Test
+    public void testDistancesOnRandomBoards() {
+        Random random = new Random(1);
+        for (int i = 0; i < 40; i++) {
+            Board board = i % 2 == 0 ? createRandomBoard(random)
+                    : new WilsonGenerator(11 + i, 7 + i, i).generateBoard();
+            JunctionGraph graph = new JunctionGraph(board);
+            for (int j = 0; j < 20; j++) {
+                Coordinates start = randomCell(board, random);
+                Coordinates end = randomCell(board, random);
+                int expected = board.isWall(start.getX(), start.getY()) || board.isWall(end.getX(), end.getY()) ? -1
+                        : new CellFinder(board).getDistance(start, end);
+
+                assertEquals(expected, graph.getDistance(start, end));
+                assertEquals(expected, graph.getDistance(graph.getDistanceField(start), end));
+            }
+        }
+    }
+
+    @Test
+    public void testPathsToSourceOnRandomBoards() {
+        Random random = new Random(2);
+        for (int i = 0; i < 40; i++) {
+            Board board = createRandomBoard(random);
+            JunctionGraph graph = new JunctionGraph(board);
+            Coordinates source = randomCell(board, random);
+            JunctionGraph.DistanceField field = graph.getDistanceField(source);
+            for (int j = 0; j < 20; j++) {
+                Coordinates from = randomCell(board, random);
+                int distance = graph.getDistance(field, from);
+                int[] path = graph.getPathToSource(field, from);
+                if (distance < 0) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(distance + 1, path.length);
+                assertEquals(source.toIndex(board.getWidth()), path[path.length - 1]);
+                assertPathOfNeighbors(board, path);
+            }
+        }
+    }
+
+    private void assertPathOfNeighbors(Board board, int[] path) {
+        int width = board.getWidth();
+        for (int index = 0; index < path.length; index++) {
+            assertTrue(board.isPath(path[index] % width, path[index] / width));
+            if (index > 0) {
+                int step = Math.abs(path[index] - path[index - 1]);
+                assertTrue(step == width || step == 1 && path[index] / width == path[index - 1] / width);
+            }
+        }
+    }
+
+    private Coordinates randomCell(Board board, Random random) {
+        return new Coordinates(random.nextInt(board.getWidth()), random.nextInt(board.getHeight()));
+    }
+
+    private Board createRandomBoard(Random random) {
+        boolean[][] array = new boolean[3 + random.nextInt(25)][3 + random.nextInt(25)];
+        for (boolean[] row : array) {
+            for (int x = 0; x < row.length; x++) {
+                row[x] = random.nextInt(5) < 3;
+            }
+        }
+        return BitPackedBoard.fromArray(array);
+    }
+
+    @Test
+    public void testGraphIsSmallerThanTheBoard() {
+        Board board = new DepthFirstGenerator(201, 201).generateBoard();
+        JunctionGraph graph = new JunctionGraph(board);
+        assertTrue(graph.getNbNodes() * 10 < 201 * 201);
+    }
+
+    @Test
+    public void testPruneDeadEnds() {
+        JunctionGraph graph = new JunctionGraph(BitPackedBoard.fromArray(BOARD));
+
+        // Only the branch towards (5, 1) is a dead end
+        boolean[] left = graph.pruneDeadEnds(new Coordinates(1, 1), new Coordinates(3, 3));
+        boolean[] expected = new boolean[graph.getNbNodes()];
+        expected[graph.getNode(9 + 1)] = true;
+        expected[graph.getNode(9 + 3)] = true;
+        expected[graph.getNode(4 * 9 + 3)] = true;
+        assertArrayEquals(expected, left);
+    }
+
+    @Test
+    public void testPruneDeadEndsLeavesTheSolution() {
+        Board board = new DepthFirstGenerator(61, 41).generateBoard();
+        Coordinates start = new CellFinder(board).getClosestToTopCell();
+        Coordinates exit = new CellFinder(board).getFurthestCell(start);
+        JunctionGraph graph = new JunctionGraph(board);
+
+        boolean[] left = graph.pruneDeadEnds(start, exit);
+        int solutionLength = 0;
+        for (int node = 0; node < graph.getNbNodes(); node++) {
+            if (left[node]) {
+                int cell = graph.getNodeCell(node);
+                Coordinates coordinates = new Coordinates(cell % board.getWidth(), cell / board.getWidth());
+                // Every node left is on the shortest path
+                assertEquals(graph.getDistance(start, exit), graph.getDistance(start, coordinates)
+                        + graph.getDistance(coordinates, exit));
+                solutionLength++;
+            }
+        }
+        assertTrue(solutionLength >= 2);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gytmy.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.gytmy.maze.model.board.BitPackedBoard;
+import com.gytmy.maze.model.board.Board;
+import com.gytmy.maze.model.generators.KruskalGenerator;
+
+public class TestPathFinder {
+
+    private static final boolean[][] BOARD = new boolean[][] {
+            { false, false, false, false, false },
+            { false, true, true, true, false },
+            { false, true, false, true, false },
+            { false, true, false, true, false },
+            { false, false, false, false, false }
+    };
+
+    @Test
+    public void testFindPath5x5() {
+        PathFinder finder = new PathFinder(BitPackedBoard.fromArray(BOARD));
+        int[] expected = { 16, 11, 6, 7, 8, 13, 18 };
+
+        assertArrayEquals(expected, finder.findPathBidirectional(new Coordinates(1, 3), new Coordinates(3, 3)));
+        assertArrayEquals(expected, finder.findPathAStar(new Coordinates(1, 3), new Coordinates(3, 3)));
+    }
+
+    @Test
+    public void testSameCell() {
+        PathFinder finder = new PathFinder(BitPackedBoard.fromArray(BOARD));
+        assertArrayEquals(new int[] { 6 }, finder.findPathBidirectional(new Coordinates(1, 1), new Coordinates(1, 1)));
+        assertArrayEquals(new int[] { 6 }, finder.findPathAStar(new Coordinates(1, 1), new Coordinates(1, 1)));
+    }
+
+    @Test
+    public void testUnreachable() {
+        boolean[][] board = new boolean[][] {
+                { false, false, false, false, false },
+                { false, true, false, true, false },
+                { false, true, false, true, false },
+                { false, false, false, false, false }
+        };
+        PathFinder finder = new PathFinder(BitPackedBoard.fromArray(board));
+        assertNull(finder.findPathBidirectional(new Coordinates(1, 1), new Coordinates(3, 2)));
+        assertNull(finder.findPathAStar(new Coordinates(1, 1), new Coordinates(3, 2)));
+        assertArrayEquals(new int[] { 8, 13 },
+                finder.findPathBidirectional(new Coordinates(3, 1), new Coordinates(3, 2)));
+    }
+
+    /**
+     * Random boards with many loops, so that the shortest path is not the only
+     * path. The searches are repeated with the same finder to check that the
+     * previous searches do not interfere.
+     */
+    @Test
+    public void testShortestPathsOnRandomBoards() {
+        Random random = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            boolean[][] array = new boolean[5 + random.nextInt(30)][5 + random.nextInt(30)];
+            for (boolean[] row : array) {
+                for (int x = 0; x < row.length; x++) {
+                    row[x] = random.nextInt(3) != 0;
+                }
+            }
+            Board board = BitPackedBoard.fromArray(array);
+            PathFinder finder = new PathFinder(board);
+            for (int j = 0; j < 20; j++) {
+                Coordinates start = randomPathCell(board, random);
+                Coordinates end = randomPathCell(board, random);
+                int distance = new CellFinder(board).getDistance(start, end);
+                assertShortestPath(board, distance, start, end, finder.findPathBidirectional(start, end));
+                assertShortestPath(board, distance, start, end, finder.findPathAStar(start, end));
+            }
+        }
+    }
+
+    @Test
+    public void testPathInGeneratedMaze() {
+        Board board = new KruskalGenerator(101, 81, 3).generateBoard();
+        Coordinates start = new Coordinates(1, 1);
+        Coordinates end = new Coordinates(99, 79);
+        int distance = new CellFinder(board).getDistance(start, end);
+
+        PathFinder finder = new PathFinder(board);
+        assertShortestPath(board, distance, start, end, finder.findPathBidirectional(start, end));
+        assertShortestPath(board, distance, start, end, finder.findPathAStar(start, end));
+    }
+
+    private Coordinates randomPathCell(Board board, Random random) {
+        while (true) {
+            int x = random.nextInt(board.getWidth());
+            int y = random.nextInt(board.getHeight());
+            if (board.isPath(x, y)) {
+                return new Coordinates(x, y);
+            }
+        }
+    }
+
+    private void assertShortestPath(Board board, int distance, Coordinates start, Coordinates end, int[] path) {
+        if (distance < 0) {
+            assertNull(path);
+            return;
+        }
+        int width = board.getWidth();
+        assertEquals(distance + 1, path.length);
+        assertEquals(start.getY() * width + start.getX(), path[0]);
+        assertEquals(end.getY() * width + end.getX(), path[path.length - 1]);
+        for (int i = 0; i < path.length; i++) {
+            assertTrue(board.isPath(path[i] % width, path[i] / width));
+            if (i > 0) {
+                int step = Math.abs(path[i] % width - path[i - 1] % width)
+                        + Math.abs(path[i] / width - path[i - 1] / width);
+                assertEquals(1, step);
+            }
+        }
+    }
+}